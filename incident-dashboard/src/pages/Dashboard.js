@@ -165,7 +165,9 @@ function Dashboard() {
                 </span>
               </div>
               <h3 style={styles.incidentTitle}>{incident.title}</h3>
-              <p style={styles.incidentDesc}>{incident.description || 'No description'}</p>
+              <p style={styles.incidentMeta}>
+                {incident.assigneeName || 'Unassigned'}{incident.teamName ? ` · ${incident.teamName}` : ''}
+              </p>
               <div style={styles.incidentActions}>
                 {incident.status === 'TRIGGERED' && (
                   <button onClick={() => handleAcknowledge(incident.id)} style={styles.ackBtn}>
@@ -342,7 +344,7 @@ const styles = {
     margin: '0 0 10px 0',
     fontSize: '18px',
   },
-  incidentDesc: {
+  incidentMeta: {
     color: '#a0a0a0',
     margin: '0 0 15px 0',
     fontSize: '14px',
@@ -36,6 +36,10 @@ export const getIncidentById = (id) => {
   return api.get(`/incidents/${id}`);
 };
 
+export const getIncidentsByIds = (ids) => {
+  return api.get(`/incidents/batch?ids=${ids.join(',')}`);
+};
+
 export const createIncident = (incident) => {
   return api.post('/incidents', incident);
 };
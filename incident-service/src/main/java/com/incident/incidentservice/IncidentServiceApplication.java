@@ -2,8 +2,10 @@ package com.incident.incidentservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class IncidentServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(IncidentServiceApplication.class, args);
@@ -0,0 +1,31 @@
+package com.incident.incidentservice.actuator;
+
+import com.incident.incidentservice.dto.ActiveIncidentConsistencyReport;
+import com.incident.incidentservice.service.ActiveIncidentView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/activeincidents compares the in-memory view with Postgres;
+ * POST reseeds the view if they disagree.
+ */
+@Component
+@Endpoint(id = "activeincidents")
+@RequiredArgsConstructor
+public class ActiveIncidentsEndpoint {
+
+    private final ActiveIncidentView activeIncidentView;
+
+    @ReadOperation
+    public ActiveIncidentConsistencyReport check() {
+        return activeIncidentView.check();
+    }
+
+    @WriteOperation
+    public ActiveIncidentConsistencyReport resync() {
+        return activeIncidentView.resync();
+    }
+}
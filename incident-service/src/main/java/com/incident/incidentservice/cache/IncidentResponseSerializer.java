@@ -0,0 +1,197 @@
+package com.incident.incidentservice.cache;
+
+import com.incident.incidentservice.dto.IncidentResponse;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary format for cached incidents.
+ * <p>
+ * Layout (v2): version byte, 16-bit presence mask, then each present field in declaration order.
+ * Longs and lengths are unsigned varints, enums are ordinals, timestamps are epoch millis (UTC)
+ * and strings are length-prefixed UTF-8. Payloads with an unknown version decode to {@code null},
+ * which the cache treats as a miss, so old entries are simply replaced after a format change.
+ * Reordering enum constants or fields requires bumping {@link #VERSION}.
+ */
+public class IncidentResponseSerializer implements RedisSerializer<IncidentResponse> {
+
+    static final byte VERSION = 2;
+
+    private static final int ID = 1;
+    private static final int INCIDENT_NUMBER = 1 << 1;
+    private static final int TITLE = 1 << 2;
+    private static final int DESCRIPTION = 1 << 3;
+    private static final int SEVERITY = 1 << 4;
+    private static final int STATUS = 1 << 5;
+    private static final int ASSIGNEE_ID = 1 << 6;
+    private static final int ASSIGNEE_NAME = 1 << 7;
+    private static final int TEAM_ID = 1 << 8;
+    private static final int TEAM_NAME = 1 << 9;
+    private static final int CREATED_AT = 1 << 10;
+    private static final int ACKNOWLEDGED_AT = 1 << 11;
+    private static final int RESOLVED_AT = 1 << 12;
+    private static final int CLOSED_AT = 1 << 13;
+    private static final int SLA_BREACH = 1 << 14;
+
+    private static final Severity[] SEVERITIES = Severity.values();
+    private static final IncidentStatus[] STATUSES = IncidentStatus.values();
+
+    @Override
+    public byte[] serialize(IncidentResponse value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        int mask = 0;
+        if (value.getId() != null) mask |= ID;
+        if (value.getIncidentNumber() != null) mask |= INCIDENT_NUMBER;
+        if (value.getTitle() != null) mask |= TITLE;
+        if (value.getDescription() != null) mask |= DESCRIPTION;
+        if (value.getSeverity() != null) mask |= SEVERITY;
+        if (value.getStatus() != null) mask |= STATUS;
+        if (value.getAssigneeId() != null) mask |= ASSIGNEE_ID;
+        if (value.getAssigneeName() != null) mask |= ASSIGNEE_NAME;
+        if (value.getTeamId() != null) mask |= TEAM_ID;
+        if (value.getTeamName() != null) mask |= TEAM_NAME;
+        if (value.getCreatedAt() != null) mask |= CREATED_AT;
+        if (value.getAcknowledgedAt() != null) mask |= ACKNOWLEDGED_AT;
+        if (value.getResolvedAt() != null) mask |= RESOLVED_AT;
+        if (value.getClosedAt() != null) mask |= CLOSED_AT;
+        if (value.isSlaBreach()) mask |= SLA_BREACH;
+
+        Writer out = new Writer(estimateSize(value));
+        out.writeByte(VERSION);
+        out.writeByte(mask >>> 8);
+        out.writeByte(mask);
+        if ((mask & ID) != 0) out.writeVarLong(value.getId());
+        if ((mask & INCIDENT_NUMBER) != 0) out.writeString(value.getIncidentNumber());
+        if ((mask & TITLE) != 0) out.writeString(value.getTitle());
+        if ((mask & DESCRIPTION) != 0) out.writeString(value.getDescription());
+        if ((mask & SEVERITY) != 0) out.writeByte(value.getSeverity().ordinal());
+        if ((mask & STATUS) != 0) out.writeByte(value.getStatus().ordinal());
+        if ((mask & ASSIGNEE_ID) != 0) out.writeVarLong(value.getAssigneeId());
+        if ((mask & ASSIGNEE_NAME) != 0) out.writeString(value.getAssigneeName());
+        if ((mask & TEAM_ID) != 0) out.writeVarLong(value.getTeamId());
+        if ((mask & TEAM_NAME) != 0) out.writeString(value.getTeamName());
+        out.writeVarLong(value.getEscalationLevel());
+        if ((mask & CREATED_AT) != 0) out.writeTimestamp(value.getCreatedAt());
+        if ((mask & ACKNOWLEDGED_AT) != 0) out.writeTimestamp(value.getAcknowledgedAt());
+        if ((mask & RESOLVED_AT) != 0) out.writeTimestamp(value.getResolvedAt());
+        if ((mask & CLOSED_AT) != 0) out.writeTimestamp(value.getClosedAt());
+        out.writeVarLong(value.getVersion());
+        return out.toByteArray();
+    }
+
+    @Override
+    public IncidentResponse deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 3 || bytes[0] != VERSION) {
+            return null;
+        }
+        try {
+            Reader in = new Reader(bytes, 1);
+            int mask = (in.readByte() << 8) | in.readByte();
+            IncidentResponse.IncidentResponseBuilder builder = IncidentResponse.builder();
+            if ((mask & ID) != 0) builder.id(in.readVarLong());
+            if ((mask & INCIDENT_NUMBER) != 0) builder.incidentNumber(in.readString());
+            if ((mask & TITLE) != 0) builder.title(in.readString());
+            if ((mask & DESCRIPTION) != 0) builder.description(in.readString());
+            if ((mask & SEVERITY) != 0) builder.severity(SEVERITIES[in.readByte()]);
+            if ((mask & STATUS) != 0) builder.status(STATUSES[in.readByte()]);
+            if ((mask & ASSIGNEE_ID) != 0) builder.assigneeId(in.readVarLong());
+            if ((mask & ASSIGNEE_NAME) != 0) builder.assigneeName(in.readString());
+            if ((mask & TEAM_ID) != 0) builder.teamId(in.readVarLong());
+            if ((mask & TEAM_NAME) != 0) builder.teamName(in.readString());
+            builder.escalationLevel((int) in.readVarLong());
+            builder.slaBreach((mask & SLA_BREACH) != 0);
+            if ((mask & CREATED_AT) != 0) builder.createdAt(in.readTimestamp());
+            if ((mask & ACKNOWLEDGED_AT) != 0) builder.acknowledgedAt(in.readTimestamp());
+            if ((mask & RESOLVED_AT) != 0) builder.resolvedAt(in.readTimestamp());
+            if ((mask & CLOSED_AT) != 0) builder.closedAt(in.readTimestamp());
+            builder.version(in.readVarLong());
+            return builder.build();
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot decode cached incident", e);
+        }
+    }
+
+    private static int estimateSize(IncidentResponse value) {
+        int size = 64;
+        if (value.getTitle() != null) size += value.getTitle().length();
+        if (value.getDescription() != null) size += value.getDescription().length();
+        return size;
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer(int size) {
+            super(size);
+        }
+
+        void writeByte(int b) {
+            write(b & 0xFF);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            write(utf8, 0, utf8.length);
+        }
+
+        void writeTimestamp(LocalDateTime value) {
+            writeVarLong(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int readByte() {
+            return buf[pos++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        LocalDateTime readTimestamp() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(readVarLong()), ZoneOffset.UTC);
+        }
+    }
+}
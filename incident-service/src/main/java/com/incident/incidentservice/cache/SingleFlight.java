@@ -0,0 +1,86 @@
+package com.incident.incidentservice.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader,
+ * everyone arriving while it is in flight waits for and shares its result (or exception).
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = calls.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        run(key, call, loader);
+        return await(call);
+    }
+
+    /**
+     * Starts a load on {@code executor} unless one is already running for the key.
+     * Returns {@code false} when the load was coalesced or the executor rejected it.
+     */
+    public boolean executeAsync(K key, Supplier<V> loader, Executor executor) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        if (calls.putIfAbsent(key, call) != null) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(key, call, loader));
+            return true;
+        } catch (RejectedExecutionException e) {
+            calls.remove(key, call);
+            call.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    public int inFlight() {
+        return calls.size();
+    }
+
+    /**
+     * Number of callers that shared another caller's load instead of running their own.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private void run(K key, CompletableFuture<V> call, Supplier<V> loader) {
+        try {
+            call.complete(loader.get());
+        } catch (Throwable t) {
+            call.completeExceptionally(t);
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,37 +1,92 @@
 package com.incident.incidentservice.config;
 
 import com.incident.incidentservice.event.IncidentEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@Slf4j
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${incident.kafka.producer.profile:throughput}")
+    private String producerProfile;
+
     @Bean
-    public ProducerFactory<String, IncidentEvent> producerFactory() {
+    public ProducerFactory<String, IncidentEvent> producerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaProducerFactory<>(config);
+        KafkaProducerProfile.valueOf(producerProfile.toUpperCase().replace('-', '_')).applyTo(config);
+
+        DefaultKafkaProducerFactory<String, IncidentEvent> factory = new DefaultKafkaProducerFactory<>(config);
+        // Publishes the client's own metrics (batch size, compression rate, record errors...) as kafka.producer.*
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, IncidentEvent> kafkaTemplate(ProducerFactory<String, IncidentEvent> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    // Every node joins with its own group id (see incident.cache.invalidation.group-id),
+    // so each one sees the whole stream; only new events matter for invalidation.
+    @Bean
+    public ConsumerFactory<String, IncidentEvent> cacheInvalidationConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        JsonDeserializer<IncidentEvent> deserializer = new JsonDeserializer<>(IncidentEvent.class, false);
+        deserializer.addTrustedPackages("*");
+
+        // A record that cannot be deserialized reaches the error handler instead of being re-polled forever
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), new ErrorHandlingDeserializer<>(deserializer));
+    }
+
+    // Deserialization failures are not retried; other failures get two retries. Either way the record is
+    // logged and skipped so invalidation keeps up with the stream; a missed entry expires with its TTL.
+    static DefaultErrorHandler cacheInvalidationErrorHandler() {
+        return new DefaultErrorHandler(
+                (record, e) -> log.warn("Skipping incident event at {}-{}@{} for cache invalidation: {}",
+                        record.topic(), record.partition(), record.offset(), e.getMessage()),
+                new FixedBackOff(1000L, 2L));
     }
 
     @Bean
-    public KafkaTemplate<String, IncidentEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public ConcurrentKafkaListenerContainerFactory<String, IncidentEvent> cacheInvalidationListenerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, IncidentEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cacheInvalidationConsumerFactory());
+        factory.setCommonErrorHandler(cacheInvalidationErrorHandler());
+        return factory;
     }
-}
\ No newline at end of file
+}
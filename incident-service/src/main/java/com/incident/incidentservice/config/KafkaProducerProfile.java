@@ -0,0 +1,37 @@
+package com.incident.incidentservice.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+/**
+ * Named producer tunings, chosen with {@code incident.kafka.producer.profile}.
+ * Both are idempotent (acks=all, at most 5 in-flight requests), so retries never duplicate or reorder records.
+ */
+public enum KafkaProducerProfile {
+
+    /** Sends each record as soon as possible; suited to low, steady event rates. */
+    LOW_LATENCY(0, 16_384, "none"),
+
+    /** Waits briefly to fill larger compressed batches; suited to the outbox relay draining bursts. */
+    THROUGHPUT(20, 131_072, "lz4");
+
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compression;
+
+    KafkaProducerProfile(int lingerMs, int batchSize, String compression) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compression = compression;
+    }
+
+    public void applyTo(Map<String, Object> config) {
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+    }
+}
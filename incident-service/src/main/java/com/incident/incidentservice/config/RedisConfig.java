@@ -3,6 +3,8 @@ package com.incident.incidentservice.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.incident.incidentservice.cache.IncidentResponseSerializer;
+import com.incident.incidentservice.dto.IncidentResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -34,4 +36,17 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public RedisTemplate<String, IncidentResponse> incidentRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, IncidentResponse> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+
+        // Compact binary values for cached incidents, see IncidentResponseSerializer
+        template.setValueSerializer(new IncidentResponseSerializer());
+
+        template.afterPropertiesSet();
+        return template;
+    }
+}
@@ -0,0 +1,45 @@
+package com.incident.incidentservice.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Tables that used to take IDENTITY ids now draw them from a pooled sequence. On an existing Postgres
+ * database that sequence starts at 1, so it is moved past the highest id before anything is inserted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceAligner {
+
+    // Sequence name -> table; the allocation size must match the entity's @SequenceGenerator
+    private static final Map<String, String> SEQUENCES = Map.of("incidents_seq", "incidents", "users_seq", "users");
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    // Injected so the schema update has run before the sequences are touched
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void align() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        SEQUENCES.forEach((sequence, table) -> {
+            // Sequence and table names are constants above, never user input
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST((SELECT COALESCE(MAX(id), 0) FROM " + table + ") + "
+                            + ALLOCATION_SIZE + ", (SELECT last_value FROM " + sequence + ")))",
+                    Long.class);
+            log.info("✅ Sequence {} aligned with {} at {}", sequence, table, value);
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.incident.incidentservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs which thread model serves requests and exports it as {@code incident.threads.virtual} (1 or 0),
+ * so load test results can be matched to the mode they ran in.
+ */
+@Component
+@Slf4j
+public class ThreadingModeReporter {
+
+    private final Environment environment;
+    private final boolean virtual;
+
+    public ThreadingModeReporter(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        Gauge.builder("incident.threads.virtual", () -> virtual ? 1 : 0).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (requested && !virtual) {
+            log.warn("⚠️ Virtual threads requested but Java {} does not support them; using platform threads",
+                    Runtime.version().feature());
+        }
+        log.info("🧵 Serving requests on {} threads (Tomcat max threads {}, DB pool {}, concurrency limit {})",
+                virtual ? "virtual" : "platform",
+                virtual ? "n/a" : environment.getProperty("server.tomcat.threads.max", "200"),
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10"),
+                environment.getProperty("incident.http.max-concurrent-requests", "400"));
+    }
+}
@@ -54,6 +54,33 @@ public class IncidentController {
                 .body(ApiResponse.success(incident, "Incident created"));
     }
 
+    @PostMapping("/bulk")
+    @Operation(
+            summary = "Create incidents in bulk",
+            description = "Creates up to 500 incidents in one request. Each item is validated separately; "
+                    + "the response lists the outcome for every item in request order."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed; see per-item results",
+                    content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Too many items"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid"
+            )
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> createBulk(@RequestBody List<CreateIncidentRequest> requests) {
+        BulkOperationResponse result = incidentService.createIncidents(requests);
+        return ResponseEntity.ok(ApiResponse.success(result,
+                result.getSucceeded() + " of " + result.getRequested() + " incidents created"));
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Get incident by ID",
@@ -79,10 +106,34 @@ public class IncidentController {
         return ResponseEntity.ok(ApiResponse.success(incidentService.getById(id)));
     }
 
+    @GetMapping("/batch")
+    @Operation(
+            summary = "Get several incidents by ID",
+            description = "Returns the requested incidents in request order using one Redis MGET and one database query for cache misses. Unknown IDs are skipped."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved incidents"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Too many IDs requested"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid"
+            )
+    })
+    public ResponseEntity<ApiResponse<List<IncidentResponse>>> getByIds(
+            @Parameter(description = "Comma-separated incident IDs") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(ApiResponse.success(incidentService.getByIds(ids)));
+    }
+
     @GetMapping
     @Operation(
             summary = "Get all incidents",
-            description = "Returns paginated list of all incidents. Supports sorting and pagination."
+            description = "Returns paginated list of all incidents. Supports sorting and pagination. List items omit the description; use GET /{id} for the full incident."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -94,7 +145,7 @@ public class IncidentController {
                     description = "Unauthorized - JWT token missing or invalid"
             )
     })
-    public ResponseEntity<ApiResponse<PagedResponse<IncidentResponse>>> getAll(
+    public ResponseEntity<ApiResponse<PagedResponse<IncidentSummary>>> getAll(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -102,10 +153,37 @@ public class IncidentController {
         return ResponseEntity.ok(ApiResponse.success(incidentService.getAll(page, size, sortBy, sortDir)));
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(
+            summary = "Get all incidents (cursor paging)",
+            description = "Keyset-paginated list ordered by creation time. Pass an empty cursor for the first page, then the returned nextCursor. Total count is an optional estimate."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved incidents"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid"
+            )
+    })
+    public ResponseEntity<ApiResponse<CursorPagedResponse<IncidentSummary>>> getAllByCursor(
+            @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort direction by creation time (asc/desc)") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Include an estimated total count") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ApiResponse.success(incidentService.getAllByCursor(cursor, size, sortDir, includeTotal)));
+    }
+
     @GetMapping("/filter")
     @Operation(
             summary = "Filter incidents",
-            description = "Returns incidents filtered by status, severity, and/or assignee"
+            description = "Returns incidents filtered by status, severity, assignee and/or team"
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -117,13 +195,45 @@ public class IncidentController {
                     description = "Unauthorized - JWT token missing or invalid"
             )
     })
-    public ResponseEntity<ApiResponse<PagedResponse<IncidentResponse>>> getByFilters(
+    public ResponseEntity<ApiResponse<PagedResponse<IncidentSummary>>> getByFilters(
             @Parameter(description = "Filter by status") @RequestParam(required = false) IncidentStatus status,
             @Parameter(description = "Filter by severity") @RequestParam(required = false) Severity severity,
             @Parameter(description = "Filter by assignee ID") @RequestParam(required = false) Long assigneeId,
+            @Parameter(description = "Filter by team ID") @RequestParam(required = false) Long teamId,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(ApiResponse.success(incidentService.getByFilters(status, severity, assigneeId, page, size)));
+        return ResponseEntity.ok(ApiResponse.success(incidentService.getByFilters(status, severity, assigneeId, teamId, page, size)));
+    }
+
+    @GetMapping(value = "/filter", params = "cursor")
+    @Operation(
+            summary = "Filter incidents (cursor paging)",
+            description = "Keyset-paginated variant of /filter, newest first. Pass an empty cursor for the first page, then the returned nextCursor."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved filtered incidents"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid"
+            )
+    })
+    public ResponseEntity<ApiResponse<CursorPagedResponse<IncidentSummary>>> getByFiltersCursor(
+            @Parameter(description = "Filter by status") @RequestParam(required = false) IncidentStatus status,
+            @Parameter(description = "Filter by severity") @RequestParam(required = false) Severity severity,
+            @Parameter(description = "Filter by assignee ID") @RequestParam(required = false) Long assigneeId,
+            @Parameter(description = "Filter by team ID") @RequestParam(required = false) Long teamId,
+            @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Include an estimated total count") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ApiResponse.success(
+                incidentService.getByFiltersCursor(status, severity, assigneeId, teamId, cursor, size, includeTotal)));
     }
 
     @GetMapping("/active")
@@ -141,7 +251,7 @@ public class IncidentController {
                     description = "Unauthorized - JWT token missing or invalid"
             )
     })
-    public ResponseEntity<ApiResponse<List<IncidentResponse>>> getActive() {
+    public ResponseEntity<ApiResponse<List<IncidentSummary>>> getActive() {
         return ResponseEntity.ok(ApiResponse.success(incidentService.getActiveIncidents()));
     }
 
@@ -308,4 +418,82 @@ public class IncidentController {
             @Parameter(description = "Incident ID") @PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success(incidentService.escalate(id), "Incident escalated"));
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/bulk/acknowledge")
+    @Operation(
+            summary = "Acknowledge incidents in bulk",
+            description = "Acknowledges up to 500 incidents. Incidents that cannot be acknowledged are reported and left unchanged."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed; see per-incident results",
+                    content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "No IDs or too many IDs"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid"
+            )
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> acknowledgeBulk(@Valid @RequestBody BulkTransitionRequest request) {
+        BulkOperationResponse result = incidentService.acknowledgeAll(request.getIds(), request.getUserId());
+        return ResponseEntity.ok(ApiResponse.success(result,
+                result.getSucceeded() + " of " + result.getRequested() + " incidents acknowledged"));
+    }
+
+    @PatchMapping("/bulk/resolve")
+    @Operation(
+            summary = "Resolve incidents in bulk",
+            description = "Resolves up to 500 incidents, appending the optional resolution to each description."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed; see per-incident results",
+                    content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "No IDs or too many IDs"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid"
+            )
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> resolveBulk(@Valid @RequestBody BulkTransitionRequest request) {
+        BulkOperationResponse result = incidentService.resolveAll(request.getIds(), request.getResolution());
+        return ResponseEntity.ok(ApiResponse.success(result,
+                result.getSucceeded() + " of " + result.getRequested() + " incidents resolved"));
+    }
+
+    @PatchMapping("/bulk/close")
+    @Operation(
+            summary = "Close incidents in bulk",
+            description = "Closes up to 500 resolved incidents."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed; see per-incident results",
+                    content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "No IDs or too many IDs"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid"
+            )
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> closeBulk(@Valid @RequestBody BulkTransitionRequest request) {
+        BulkOperationResponse result = incidentService.closeAll(request.getIds());
+        return ResponseEntity.ok(ApiResponse.success(result,
+                result.getSucceeded() + " of " + result.getRequested() + " incidents closed"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.incident.incidentservice.controller;
+
+import com.incident.incidentservice.dto.ApiResponse;
+import com.incident.incidentservice.dto.auth.UserImportReport;
+import com.incident.incidentservice.service.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "User Administration", description = "Admin-only user management APIs")
+@SecurityRequirement(name = "Bearer Authentication")
+public class UserImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final UserImportService userImportService;
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Import users (JSON)",
+            description = "Creates users from a JSON array of registration requests, read as a stream. "
+                    + "Each record is validated separately; the response lists the outcome for every record. "
+                    + "No tokens are issued."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Upload processed; see per-row results",
+                    content = @Content(schema = @Schema(implementation = UserImportReport.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed upload"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "403",
+                    description = "Caller is not an admin"
+            )
+    })
+    public ResponseEntity<ApiResponse<UserImportReport>> importJson(InputStream body) throws IOException {
+        return respond(userImportService.importJson(body));
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV)
+    @Operation(
+            summary = "Import users (CSV)",
+            description = "Creates users from a CSV upload whose header names the columns: username, email, password "
+                    + "and optionally role, teamId, teamName, phoneNumber. Rows that cannot be parsed are reported "
+                    + "and skipped. No tokens are issued."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Upload processed; see per-row results",
+                    content = @Content(schema = @Schema(implementation = UserImportReport.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Missing or invalid CSV header"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "403",
+                    description = "Caller is not an admin"
+            )
+    })
+    public ResponseEntity<ApiResponse<UserImportReport>> importCsv(InputStream body) throws IOException {
+        return respond(userImportService.importCsv(body));
+    }
+
+    private ResponseEntity<ApiResponse<UserImportReport>> respond(UserImportReport report) {
+        return ResponseEntity.ok(ApiResponse.success(report,
+                report.getSucceeded() + " of " + report.getRequested() + " users imported"));
+    }
+}
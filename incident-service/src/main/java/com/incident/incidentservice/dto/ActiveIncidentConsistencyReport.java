@@ -0,0 +1,18 @@
+package com.incident.incidentservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveIncidentConsistencyReport {
+    private int viewSize;
+    private int databaseSize;
+    private List<Long> missing;
+    private List<Long> stale;
+    private List<Long> extra;
+    private boolean consistent;
+}
@@ -0,0 +1,25 @@
+package com.incident.incidentservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.incident.incidentservice.enums.IncidentStatus;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome for one item of a bulk request. {@code index} is the item's position in the request;
+ * {@code status} is the incident's status after the request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+    private int index;
+    private boolean success;
+    private Long incidentId;
+    private String incidentNumber;
+    private IncidentStatus status;
+    private List<String> errors;
+}
@@ -0,0 +1,21 @@
+package com.incident.incidentservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionRequest {
+    @NotEmpty(message = "At least one incident ID is required")
+    @Size(max = 500, message = "At most 500 incidents can be changed at once")
+    private List<Long> ids;
+    // Acknowledge only: user to assign the incidents to
+    private Long userId;
+    // Resolve only: appended to each incident's description
+    private String resolution;
+}
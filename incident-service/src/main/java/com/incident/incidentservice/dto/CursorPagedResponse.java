@@ -0,0 +1,21 @@
+package com.incident.incidentservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPagedResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasMore;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    // Planner estimate, only present when requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long estimatedTotal;
+}
@@ -0,0 +1,45 @@
+package com.incident.incidentservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position for incident listings: the (createdAt, id) of the last row returned plus the
+ * sort direction. Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+@Getter
+@AllArgsConstructor
+public class IncidentCursor {
+    private final LocalDateTime createdAt;
+    private final Long id;
+    private final boolean ascending;
+
+    public String encode() {
+        String raw = (ascending ? "a" : "d") + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor from a request; a blank value means "first page" and returns {@code null}.
+     */
+    public static IncidentCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(parts[0].equals("a") || parts[0].equals("d"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new IncidentCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]), parts[0].equals("a"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
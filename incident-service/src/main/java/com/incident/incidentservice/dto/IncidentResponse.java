@@ -27,4 +27,6 @@ public class IncidentResponse {
     private LocalDateTime acknowledgedAt;
     private LocalDateTime resolvedAt;
     private LocalDateTime closedAt;
+    // Row version this response was read at; lets the cache refuse to replace a newer copy with an older one
+    private long version;
 }
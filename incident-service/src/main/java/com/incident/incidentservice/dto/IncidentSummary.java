@@ -0,0 +1,33 @@
+package com.incident.incidentservice.dto;
+
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of an incident: everything in {@link IncidentResponse} except the description.
+ * List queries construct it directly, so the TEXT column is never read for them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentSummary {
+    private Long id;
+    private String incidentNumber;
+    private String title;
+    private Severity severity;
+    private IncidentStatus status;
+    private Long assigneeId;
+    private String assigneeName;
+    private Long teamId;
+    private String teamName;
+    private int escalationLevel;
+    private boolean slaBreach;
+    private LocalDateTime createdAt;
+    private LocalDateTime acknowledgedAt;
+    private LocalDateTime resolvedAt;
+    private LocalDateTime closedAt;
+}
@@ -0,0 +1,32 @@
+package com.incident.incidentservice.dto.auth;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Per-row result of a bulk user import. {@code truncated} is set when the upload had more rows than
+ * the import limit; rows past the limit were not read.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportReport {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private boolean truncated;
+    private List<UserImportRowResult> results;
+
+    public static UserImportReport of(List<UserImportRowResult> results, boolean truncated) {
+        int succeeded = (int) results.stream().filter(UserImportRowResult::isSuccess).count();
+        return UserImportReport.builder()
+                .requested(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .truncated(truncated)
+                .results(results)
+                .build();
+    }
+}
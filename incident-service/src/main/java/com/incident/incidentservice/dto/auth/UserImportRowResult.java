@@ -0,0 +1,23 @@
+package com.incident.incidentservice.dto.auth;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome for one imported user. {@code row} is the record's position in the upload, starting at 0
+ * and not counting a CSV header.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportRowResult {
+    private int row;
+    private boolean success;
+    private Long userId;
+    private String username;
+    private List<String> errors;
+}
@@ -4,21 +4,30 @@ import com.incident.incidentservice.enums.IncidentStatus;
 import com.incident.incidentservice.enums.Severity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "incidents")
+@Table(name = "incidents", indexes = {
+        @Index(name = "idx_incidents_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_incidents_severity_created_at", columnList = "severity, created_at"),
+        @Index(name = "idx_incidents_assignee_status", columnList = "assignee_id, status"),
+        @Index(name = "idx_incidents_team_status", columnList = "team_id, status"),
+        @Index(name = "idx_incidents_created_at_id", columnList = "created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Incident {
 
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one INSERT round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incidents_seq")
+    @SequenceGenerator(name = "incidents_seq", sequenceName = "incidents_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -38,6 +47,10 @@ public class Incident {
     @Column(nullable = false)
     private IncidentStatus status;
 
+    // Status replaced by the last conditional transition, written by the same UPDATE so events can report it
+    @Enumerated(EnumType.STRING)
+    private IncidentStatus previousStatus;
+
     private Long assigneeId;
     private String assigneeName;
     private Long teamId;
@@ -49,6 +62,11 @@ public class Incident {
     @Builder.Default
     private boolean slaBreach = false;
 
+    // Catches lost updates from the read-modify-save paths; the default fills the column for existing rows
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
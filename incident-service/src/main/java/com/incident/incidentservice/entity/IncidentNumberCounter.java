@@ -0,0 +1,53 @@
+package com.incident.incidentservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Next unreserved incident number for a counter key ("global", or a yyyyMMdd day when numbers reset daily).
+ * <p>
+ * A counter created in code is always inserted, never merged: two nodes creating the same key must
+ * collide on the primary key rather than the later one silently overwriting the earlier.
+ */
+@Entity
+@Table(name = "incident_number_counters")
+@Data
+@NoArgsConstructor
+public class IncidentNumberCounter implements Persistable<String> {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private long nextValue;
+
+    @Transient
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private boolean created;
+
+    public static IncidentNumberCounter create(String name, long nextValue) {
+        IncidentNumberCounter counter = new IncidentNumberCounter();
+        counter.name = name;
+        counter.nextValue = nextValue;
+        counter.created = true;
+        return counter;
+    }
+
+    @Override
+    public String getId() {
+        return name;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markStored() {
+        created = false;
+    }
+}
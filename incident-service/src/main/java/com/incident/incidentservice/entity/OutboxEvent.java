@@ -0,0 +1,51 @@
+package com.incident.incidentservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An incident event waiting to be relayed to Kafka, written in the same transaction as the change it describes.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    // Ids are taken at insert, not at commit, so they only order events per incident: the event is
+    // written after the incident row's UPDATE (conditional or @Version-checked) in the same transaction,
+    // and that row lock makes a later change to the incident wait for this one to commit before its
+    // event can take an id. Across incidents a lower id may commit later; the relay still picks it up.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private String messageKey;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    // The relay that is currently sending this event, and until when its claim holds
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+
+    // Set when the payload cannot be read; parked events are left for an operator and never relayed
+    private LocalDateTime parkedAt;
+
+    @Column(length = 1000)
+    private String parkReason;
+}
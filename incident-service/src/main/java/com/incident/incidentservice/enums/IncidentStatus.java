@@ -1,5 +1,8 @@
 package com.incident.incidentservice.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum IncidentStatus {
     TRIGGERED,
     ACKNOWLEDGED,
@@ -18,4 +21,17 @@ public enum IncidentStatus {
             case CLOSED -> false;
         };
     }
+
+    /**
+     * Statuses from which {@code target} may be reached.
+     */
+    public static Set<IncidentStatus> predecessorsOf(IncidentStatus target) {
+        Set<IncidentStatus> predecessors = EnumSet.noneOf(IncidentStatus.class);
+        for (IncidentStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                predecessors.add(status);
+            }
+        }
+        return predecessors;
+    }
 }
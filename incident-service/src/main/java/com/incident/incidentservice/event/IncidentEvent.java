@@ -15,6 +15,8 @@ public class IncidentEvent {
     private String incidentNumber;
     private String title;
     private String severity;
+    private Long teamId;
+    private String teamName;
     private IncidentStatus previousStatus;
     private IncidentStatus newStatus;
     private LocalDateTime timestamp;
@@ -0,0 +1,8 @@
+package com.incident.incidentservice.event;
+
+/**
+ * Published in-process whenever a user is created or changed, so caches and the disabled-user
+ * list on this node catch up without waiting for their next refresh.
+ */
+public record UserChangedEvent(Long userId, String username, boolean active) {
+}
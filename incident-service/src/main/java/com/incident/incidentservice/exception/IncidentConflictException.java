@@ -0,0 +1,16 @@
+package com.incident.incidentservice.exception;
+
+import com.incident.incidentservice.enums.IncidentStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The conditional update was rejected although the incident's status allows the transition: another
+ * request changed the row in between, so the caller should reload and retry.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IncidentConflictException extends InvalidStatusTransitionException {
+    public IncidentConflictException(Long id, IncidentStatus current, IncidentStatus target) {
+        super("Incident " + id + " was changed concurrently (now " + current + "), retry the transition to " + target);
+    }
+}
@@ -9,4 +9,8 @@ public class InvalidStatusTransitionException extends RuntimeException {
     public InvalidStatusTransitionException(IncidentStatus from, IncidentStatus to) {
         super("Cannot transition from " + from + " to " + to);
     }
+
+    protected InvalidStatusTransitionException(String message) {
+        super(message);
+    }
 }
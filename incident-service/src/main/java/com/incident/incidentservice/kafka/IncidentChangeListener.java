@@ -0,0 +1,49 @@
+package com.incident.incidentservice.kafka;
+
+import com.incident.incidentservice.event.IncidentEvent;
+import com.incident.incidentservice.exception.IncidentNotFoundException;
+import com.incident.incidentservice.service.ActiveIncidentView;
+import com.incident.incidentservice.service.IncidentCacheService;
+import com.incident.incidentservice.service.IncidentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies incident changes made on any node to this node's local state:
+ * drops the L1 cache entry and updates the active incident view.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IncidentChangeListener {
+
+    private final IncidentCacheService cacheService;
+    private final ActiveIncidentView activeIncidentView;
+    private final IncidentService incidentService;
+
+    @KafkaListener(
+            topics = "incident-event",
+            groupId = "${incident.cache.invalidation.group-id}",
+            containerFactory = "cacheInvalidationListenerFactory")
+    public void onEvent(IncidentEvent event) {
+        Long id = event.getIncidentId();
+        if (id == null) {
+            return;
+        }
+        log.debug("Applying {} for incident {} to local state", event.getEventType(), id);
+        cacheService.evictLocal(id);
+
+        if (!ActiveIncidentView.isActive(event.getNewStatus())) {
+            activeIncidentView.remove(id);
+            return;
+        }
+        try {
+            // Served from Redis after write-through, so this rarely reaches Postgres
+            activeIncidentView.apply(incidentService.getById(id));
+        } catch (IncidentNotFoundException e) {
+            activeIncidentView.remove(id);
+        }
+    }
+}
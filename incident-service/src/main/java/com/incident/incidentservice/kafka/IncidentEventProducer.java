@@ -1,21 +1,102 @@
 package com.incident.incidentservice.kafka;
 
 import com.incident.incidentservice.event.IncidentEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends incident events with a bounded number of unacknowledged records. When the limit is reached,
+ * {@link #sendEvent} waits for a slot and then fails rather than letting the producer buffer grow.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class IncidentEventProducer {
 
-    private final KafkaTemplate<String, IncidentEvent> kafkaTemplate;
     private static final String TOPIC = "incident-event";
 
-    public void sendEvent(IncidentEvent event) {
+    private final KafkaTemplate<String, IncidentEvent> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Duration acquireTimeout;
+    private final Counter rejected;
+
+    public IncidentEventProducer(KafkaTemplate<String, IncidentEvent> kafkaTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${incident.kafka.producer.max-in-flight-sends:1000}") int maxInFlight,
+                                 @Value("${incident.kafka.producer.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeout = acquireTimeout;
+        this.rejected = Counter.builder("incident.events.send.rejected")
+                .description("Sends refused because too many records were awaiting acknowledgement")
+                .register(meterRegistry);
+        Gauge.builder("incident.events.in.flight", this, IncidentEventProducer::inFlight).register(meterRegistry);
+    }
+
+    /**
+     * Sends without waiting for the broker; the returned future completes when the record is acknowledged.
+     */
+    public CompletableFuture<SendResult<String, IncidentEvent>> sendEvent(IncidentEvent event) {
         log.info("Sending event: {} for incident: {}", event.getEventType(), event.getIncidentNumber());
-        kafkaTemplate.send(TOPIC, event.getIncidentNumber(), event);
+        if (!acquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Too many unacknowledged events (" + maxInFlight + "), try again later"));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, IncidentEvent>> future;
+        try {
+            future = kafkaTemplate.send(TOPIC, event.getIncidentNumber(), event);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            record(event, start, e);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> {
+            inFlight.release();
+            record(event, start, error);
+        });
+    }
+
+    int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    private boolean acquire() {
+        try {
+            return inFlight.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(IncidentEvent event, long start, Throwable error) {
+        String eventType = event.getEventType() == null ? "UNKNOWN" : event.getEventType();
+        Timer.builder("incident.events.send")
+                .tag("eventType", eventType)
+                .tag("outcome", error == null ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            log.error("Failed to send {} event for incident {}: {}", eventType, event.getIncidentNumber(), error.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
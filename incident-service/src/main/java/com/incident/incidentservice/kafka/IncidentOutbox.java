@@ -0,0 +1,47 @@
+package com.incident.incidentservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.incidentservice.entity.OutboxEvent;
+import com.incident.incidentservice.event.IncidentEvent;
+import com.incident.incidentservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Records incident events in the outbox table as part of the caller's transaction.
+ * {@link OutboxRelay} sends them to Kafka once committed, so a rolled-back change never publishes.
+ */
+@Component
+@RequiredArgsConstructor
+public class IncidentOutbox {
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(IncidentEvent event) {
+        outboxRepository.save(toOutboxEvent(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(List<IncidentEvent> events) {
+        outboxRepository.saveAll(events.stream().map(this::toOutboxEvent).toList());
+    }
+
+    private OutboxEvent toOutboxEvent(IncidentEvent event) {
+        try {
+            return OutboxEvent.builder()
+                    .messageKey(event.getIncidentNumber())
+                    .eventType(event.getEventType())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize incident event " + event.getEventId(), e);
+        }
+    }
+}
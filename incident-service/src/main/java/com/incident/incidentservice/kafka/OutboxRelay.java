@@ -0,0 +1,228 @@
+package com.incident.incidentservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.incidentservice.entity.OutboxEvent;
+import com.incident.incidentservice.event.IncidentEvent;
+import com.incident.incidentservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to Kafka in id order. A batch is claimed in a short transaction, sent with no
+ * transaction or row lock held, and deleted in another short transaction once the broker has
+ * acknowledged it; whatever was not acknowledged is released and retried next time, so consumers may
+ * see an event more than once.
+ * <p>
+ * Events for the same incident are sent one after another, each only once the previous one has been
+ * acknowledged, and an incident's remaining events are held back after its first failure. A retry can
+ * therefore never put an incident's events on the topic out of order, while different incidents are
+ * still sent together. Events whose payload cannot be read are parked and skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "incident.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private record Claimed(OutboxEvent row, IncidentEvent event) {
+    }
+
+    private final String owner = UUID.randomUUID().toString();
+    private final OutboxEventRepository outboxRepository;
+    private final IncidentEventProducer eventProducer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration claimLease;
+    private final Counter relayed;
+    private final Counter sendFailures;
+    private final Counter parked;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong parkedTotal = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxRepository,
+                       IncidentEventProducer eventProducer,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${incident.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${incident.outbox.relay.send-timeout:10s}") Duration sendTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.eventProducer = eventProducer;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        // Outlives a whole send, so another node only takes over the claim of a relay that has died
+        this.claimLease = sendTimeout.multipliedBy(3);
+
+        this.relayed = Counter.builder("incident.outbox.relayed").register(meterRegistry);
+        this.sendFailures = Counter.builder("incident.outbox.send.failures").register(meterRegistry);
+        this.parked = Counter.builder("incident.outbox.parked")
+                .description("Events set aside because their payload could not be read")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("incident.outbox.relay.batch").register(meterRegistry);
+        Gauge.builder("incident.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("incident.outbox.parked.current", parkedTotal, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("incident.outbox.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .description("Age of the oldest event still waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${incident.outbox.relay.interval-ms:200}")
+    public void relay() {
+        try {
+            int sent;
+            do {
+                sent = batchTimer.record(this::relayBatch);
+            } while (sent == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed: {}", e.getMessage());
+        } finally {
+            updateLag();
+        }
+    }
+
+    // Returns how many events were relayed, or -1 if any of the batch is left for the next run
+    private int relayBatch() {
+        List<Claimed> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> acked = send(batch);
+        Set<Long> ackedIds = new HashSet<>(acked);
+        List<Long> unsent = batch.stream()
+                .map(claimed -> claimed.row().getId())
+                .filter(id -> !ackedIds.contains(id))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!acked.isEmpty()) {
+                outboxRepository.deleteClaimed(acked, owner);
+            }
+            if (!unsent.isEmpty()) {
+                outboxRepository.releaseClaimed(unsent, owner);
+            }
+        });
+        relayed.increment(acked.size());
+        return unsent.isEmpty() ? acked.size() : -1;
+    }
+
+    private List<Claimed> claimBatch() {
+        List<OutboxEvent> rows = outboxRepository.findBatchForUpdate(PageRequest.of(0, batchSize));
+        LocalDateTime now = LocalDateTime.now();
+        // Another relay is still sending the oldest events; sending anything now could overtake them
+        if (rows.stream().anyMatch(row -> row.getClaimedUntil() != null && row.getClaimedUntil().isAfter(now))) {
+            return List.of();
+        }
+
+        List<Claimed> claimed = new ArrayList<>();
+        for (OutboxEvent row : rows) {
+            IncidentEvent event = read(row);
+            if (event == null) {
+                row.setParkedAt(now);
+                continue;
+            }
+            row.setClaimedBy(owner);
+            row.setClaimedUntil(now.plus(claimLease));
+            claimed.add(new Claimed(row, event));
+        }
+        return claimed;
+    }
+
+    // Sends in rounds: each round the next event of every incident that has not failed yet
+    private List<Long> send(List<Claimed> batch) {
+        Map<String, Deque<Claimed>> byKey = new LinkedHashMap<>();
+        for (Claimed claimed : batch) {
+            byKey.computeIfAbsent(claimed.row().getMessageKey(), key -> new ArrayDeque<>()).add(claimed);
+        }
+
+        List<Long> acked = new ArrayList<>();
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        while (!byKey.isEmpty() && System.nanoTime() < deadline) {
+            // Everything in a round is handed to the producer first so the records share batches on the wire
+            Map<String, CompletableFuture<?>> round = new LinkedHashMap<>();
+            byKey.forEach((key, events) -> round.put(key, sendQuietly(events.peek().event())));
+
+            round.forEach((key, ack) -> {
+                Claimed claimed = byKey.get(key).peek();
+                try {
+                    ack.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                    acked.add(claimed.row().getId());
+                    byKey.get(key).poll();
+                } catch (Exception e) {
+                    sendFailures.increment();
+                    log.warn("Outbox relay holding back incident {} from event {}: {}",
+                            key, claimed.row().getId(), e.getMessage());
+                    byKey.get(key).clear();
+                }
+            });
+            byKey.values().removeIf(Deque::isEmpty);
+        }
+        return acked;
+    }
+
+    private CompletableFuture<?> sendQuietly(IncidentEvent event) {
+        try {
+            return eventProducer.sendEvent(event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private IncidentEvent read(OutboxEvent row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), IncidentEvent.class);
+        } catch (JsonProcessingException e) {
+            parked.increment();
+            row.setParkReason(abbreviate(e.getOriginalMessage()));
+            log.error("Parking unreadable outbox event {} for {}: {}", row.getId(), row.getMessageKey(), e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    private void updateLag() {
+        try {
+            pending.set(outboxRepository.countByParkedAtIsNull());
+            parkedTotal.set(outboxRepository.countByParkedAtIsNotNull());
+            lagMillis.set(outboxRepository.findFirstByParkedAtIsNullOrderByIdAsc()
+                    .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.debug("Could not read outbox lag: {}", e.getMessage());
+        }
+    }
+}
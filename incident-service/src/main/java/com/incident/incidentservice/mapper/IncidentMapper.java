@@ -1,6 +1,7 @@
 package com.incident.incidentservice.mapper;
 
 import com.incident.incidentservice.dto.IncidentResponse;
+import com.incident.incidentservice.dto.IncidentSummary;
 import com.incident.incidentservice.entity.Incident;
 import org.springframework.stereotype.Component;
 
@@ -25,6 +26,27 @@ public class IncidentMapper {
                 .acknowledgedAt(incident.getAcknowledgedAt())
                 .resolvedAt(incident.getResolvedAt())
                 .closedAt(incident.getClosedAt())
+                .version(incident.getVersion())
+                .build();
+    }
+
+    public IncidentSummary toSummary(IncidentResponse incident) {
+        return IncidentSummary.builder()
+                .id(incident.getId())
+                .incidentNumber(incident.getIncidentNumber())
+                .title(incident.getTitle())
+                .severity(incident.getSeverity())
+                .status(incident.getStatus())
+                .assigneeId(incident.getAssigneeId())
+                .assigneeName(incident.getAssigneeName())
+                .teamId(incident.getTeamId())
+                .teamName(incident.getTeamName())
+                .escalationLevel(incident.getEscalationLevel())
+                .slaBreach(incident.isSlaBreach())
+                .createdAt(incident.getCreatedAt())
+                .acknowledgedAt(incident.getAcknowledgedAt())
+                .resolvedAt(incident.getResolvedAt())
+                .closedAt(incident.getClosedAt())
                 .build();
     }
 }
@@ -0,0 +1,26 @@
+package com.incident.incidentservice.repository;
+
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Optional incident list filters; {@code null} fields are not filtered on.
+ */
+@Getter
+@Builder
+public class IncidentFilter {
+    private final IncidentStatus status;
+    private final Severity severity;
+    private final Long assigneeId;
+    private final Long teamId;
+
+    public static IncidentFilter none() {
+        return IncidentFilter.builder().build();
+    }
+
+    public boolean isEmpty() {
+        return status == null && severity == null && assigneeId == null && teamId == null;
+    }
+}
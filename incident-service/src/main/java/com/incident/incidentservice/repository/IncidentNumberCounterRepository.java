@@ -0,0 +1,18 @@
+package com.incident.incidentservice.repository;
+
+import com.incident.incidentservice.entity.IncidentNumberCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IncidentNumberCounterRepository extends JpaRepository<IncidentNumberCounter, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM IncidentNumberCounter c WHERE c.name = :name")
+    Optional<IncidentNumberCounter> findForUpdate(String name);
+}
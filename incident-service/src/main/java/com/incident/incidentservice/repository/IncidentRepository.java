@@ -3,16 +3,22 @@ package com.incident.incidentservice.repository;
 import com.incident.incidentservice.entity.Incident;
 import com.incident.incidentservice.enums.IncidentStatus;
 import com.incident.incidentservice.enums.Severity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface IncidentRepository extends JpaRepository<Incident, Long> {
+public interface IncidentRepository extends JpaRepository<Incident, Long>, IncidentRepositoryCustom {
 
     Page<Incident> findByStatus(IncidentStatus status, Pageable pageable);
     
@@ -23,11 +29,45 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
     @Query("SELECT i FROM Incident i WHERE i.status IN :statuses")
     List<Incident> findByStatusIn(List<IncidentStatus> statuses);
 
-    @Query("SELECT i FROM Incident i WHERE " +
-           "(:status IS NULL OR i.status = :status) AND " +
-           "(:severity IS NULL OR i.severity = :severity) AND " +
-           "(:assigneeId IS NULL OR i.assigneeId = :assigneeId)")
-    Page<Incident> findByFilters(IncidentStatus status, Severity severity, Long assigneeId, Pageable pageable);
-
     long countByStatus(IncidentStatus status);
+
+    @Query("SELECT i.status FROM Incident i WHERE i.id = :id")
+    Optional<IncidentStatus> findStatusById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Incident i WHERE i.id IN :ids")
+    List<Incident> findAllByIdForUpdate(Collection<Long> ids);
+
+    // Bulk transitions: one UPDATE per request. They bypass the persistence context, so it is flushed before and cleared after.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Incident i SET i.status = com.incident.incidentservice.enums.IncidentStatus.ACKNOWLEDGED, "
+            + "i.acknowledgedAt = :now, i.updatedAt = :now, i.version = i.version + 1, "
+            + "i.assigneeId = COALESCE(:assigneeId, i.assigneeId), i.assigneeName = COALESCE(:assigneeName, i.assigneeName) "
+            + "WHERE i.id IN :ids")
+    int acknowledgeAll(Collection<Long> ids, LocalDateTime now, Long assigneeId, String assigneeName);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Incident i SET i.status = com.incident.incidentservice.enums.IncidentStatus.RESOLVED, "
+            + "i.resolvedAt = :now, i.updatedAt = :now, i.version = i.version + 1, i.description = CONCAT(COALESCE(i.description, ''), :note) "
+            + "WHERE i.id IN :ids")
+    int resolveAll(Collection<Long> ids, LocalDateTime now, String note);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Incident i SET i.status = com.incident.incidentservice.enums.IncidentStatus.CLOSED, "
+            + "i.closedAt = :now, i.updatedAt = :now, i.version = i.version + 1 WHERE i.id IN :ids")
+    int closeAll(Collection<Long> ids, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Incident i SET i.assigneeId = :assigneeId, i.assigneeName = :assigneeName, i.teamId = :teamId, "
+            + "i.teamName = :teamName, i.updatedAt = :now, i.version = i.version + 1 WHERE i.id = :id")
+    int assign(Long id, Long assigneeId, String assigneeName, Long teamId, String teamName, LocalDateTime now);
+
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM Incident i")
+    long findMaxId();
+
+    // Longest first, so INC-20240101-10000 sorts above INC-20240101-9999
+    @Query("SELECT i.incidentNumber FROM Incident i WHERE i.incidentNumber LIKE CONCAT(:prefix, '%') "
+            + "ORDER BY LENGTH(i.incidentNumber) DESC, i.incidentNumber DESC")
+    List<String> findIncidentNumbersStartingWith(String prefix, Pageable pageable);
 }
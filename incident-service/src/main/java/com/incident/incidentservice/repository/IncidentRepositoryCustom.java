@@ -0,0 +1,42 @@
+package com.incident.incidentservice.repository;
+
+import com.incident.incidentservice.dto.IncidentCursor;
+import com.incident.incidentservice.dto.IncidentSummary;
+import com.incident.incidentservice.entity.Incident;
+import com.incident.incidentservice.enums.IncidentStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IncidentRepositoryCustom {
+
+    /**
+     * Offset page over incidents. The generated SQL only contains predicates for filters that are set,
+     * so the planner can pick the matching composite index on {@link Incident}.
+     * Rows are projected to {@link IncidentSummary}, leaving the description unread.
+     */
+    Page<IncidentSummary> findByFilter(IncidentFilter filter, Pageable pageable);
+
+    /**
+     * Seeks past {@code after} on (createdAt, id) instead of skipping rows with OFFSET.
+     * A {@code null} cursor starts from the first row.
+     */
+    List<IncidentSummary> findPageAfter(IncidentFilter filter, IncidentCursor after, boolean ascending, int limit);
+
+    List<IncidentSummary> findSummariesByStatusIn(Collection<IncidentStatus> statuses);
+
+    /**
+     * Applies {@code transition} with one UPDATE whose WHERE clause requires one of its allowed statuses,
+     * and only when that matched reads the row back, with the status it replaced. Empty when the incident
+     * is missing or its status did not allow it.
+     */
+    Optional<StatusTransition.Result> transition(Long id, StatusTransition transition);
+
+    /**
+     * Cheap row count estimate from planner statistics; exact count on databases without them.
+     */
+    long estimateCount(IncidentFilter filter);
+}
@@ -0,0 +1,212 @@
+package com.incident.incidentservice.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.incidentservice.dto.IncidentCursor;
+import com.incident.incidentservice.dto.IncidentSummary;
+import com.incident.incidentservice.entity.Incident;
+import com.incident.incidentservice.enums.IncidentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+public class IncidentRepositoryImpl implements IncidentRepositoryCustom {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<IncidentSummary> findByFilter(IncidentFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IncidentSummary> query = cb.createQuery(IncidentSummary.class);
+        Root<Incident> incident = query.from(Incident.class);
+        query.select(summary(cb, incident))
+                .where(filterPredicates(cb, incident, filter).toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), incident, cb));
+
+        List<IncidentSummary> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // The count query is skipped when the page itself shows where the result ends
+        return PageableExecutionUtils.getPage(content, pageable, () -> exactCount(filter));
+    }
+
+    @Override
+    public List<IncidentSummary> findPageAfter(IncidentFilter filter, IncidentCursor after, boolean ascending, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IncidentSummary> query = cb.createQuery(IncidentSummary.class);
+        Root<Incident> incident = query.from(Incident.class);
+
+        List<Predicate> predicates = filterPredicates(cb, incident, filter);
+        if (after != null) {
+            predicates.add(seekPredicate(cb, incident, after, ascending));
+        }
+
+        query.select(summary(cb, incident))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(ascending
+                        ? List.of(cb.asc(incident.get("createdAt")), cb.asc(incident.get("id")))
+                        : List.of(cb.desc(incident.get("createdAt")), cb.desc(incident.get("id"))));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<IncidentSummary> findSummariesByStatusIn(Collection<IncidentStatus> statuses) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IncidentSummary> query = cb.createQuery(IncidentSummary.class);
+        Root<Incident> incident = query.from(Incident.class);
+        query.select(summary(cb, incident)).where(incident.get("status").in(statuses));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Optional<StatusTransition.Result> transition(Long id, StatusTransition transition) {
+        // SET expressions see the row as it was, so previousStatus receives the status being replaced
+        StringBuilder jpql = new StringBuilder("UPDATE Incident i SET i.previousStatus = i.status, i.status = :target, "
+                + "i.updatedAt = :now, i.version = i.version + 1");
+        transition.getAssignments().keySet().forEach(attribute ->
+                jpql.append(", i.").append(attribute).append(" = :").append(attribute));
+        transition.getIncrements().forEach(attribute ->
+                jpql.append(", i.").append(attribute).append(" = i.").append(attribute).append(" + 1"));
+        if (transition.getDescriptionSuffix() != null) {
+            jpql.append(", i.description = CONCAT(COALESCE(i.description, ''), :descriptionSuffix)");
+        }
+        jpql.append(" WHERE i.id = :id AND i.status IN :allowedFrom");
+
+        Query update = entityManager.createQuery(jpql.toString())
+                .setParameter("target", transition.getTarget())
+                .setParameter("now", transition.getNow())
+                .setParameter("id", id)
+                .setParameter("allowedFrom", transition.getAllowedFrom());
+        transition.getAssignments().forEach(update::setParameter);
+        if (transition.getDescriptionSuffix() != null) {
+            update.setParameter("descriptionSuffix", transition.getDescriptionSuffix());
+        }
+        // Like the bulk @Modifying updates: flushed before and cleared after, so the read below is not stale
+        entityManager.flush();
+        int updated = update.executeUpdate();
+        entityManager.clear();
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        // Only a transition that won reads the row back
+        return Optional.ofNullable(entityManager.find(Incident.class, id))
+                .map(incident -> new StatusTransition.Result(incident, incident.getPreviousStatus()));
+    }
+
+    @Override
+    public long estimateCount(IncidentFilter filter) {
+        if (!isPostgres()) {
+            return exactCount(filter);
+        }
+        if (filter.isEmpty()) {
+            Object estimate = entityManager
+                    .createNativeQuery("SELECT reltuples::bigint FROM pg_class WHERE relname = 'incidents'")
+                    .getSingleResult();
+            return Math.max(((Number) estimate).longValue(), 0);
+        }
+        // Only enum names and numeric ids are inlined, so there is nothing to escape
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM incidents WHERE 1 = 1");
+        if (filter.getStatus() != null) sql.append(" AND status = '").append(filter.getStatus().name()).append("'");
+        if (filter.getSeverity() != null) sql.append(" AND severity = '").append(filter.getSeverity().name()).append("'");
+        if (filter.getAssigneeId() != null) sql.append(" AND assignee_id = ").append(filter.getAssigneeId().longValue());
+        if (filter.getTeamId() != null) sql.append(" AND team_id = ").append(filter.getTeamId().longValue());
+        try {
+            Object plan = entityManager.createNativeQuery(sql.toString()).getSingleResult();
+            JsonNode root = JSON.readTree(plan.toString());
+            return root.path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (Exception e) {
+            log.warn("Could not estimate incident count from plan: {}", e.getMessage());
+            return exactCount(filter);
+        }
+    }
+
+    private long exactCount(IncidentFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Incident> incident = query.from(Incident.class);
+        query.select(cb.count(incident)).where(filterPredicates(cb, incident, filter).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Argument order must match the IncidentSummary all-args constructor
+    private CompoundSelection<IncidentSummary> summary(CriteriaBuilder cb, Root<Incident> incident) {
+        return cb.construct(IncidentSummary.class,
+                incident.get("id"),
+                incident.get("incidentNumber"),
+                incident.get("title"),
+                incident.get("severity"),
+                incident.get("status"),
+                incident.get("assigneeId"),
+                incident.get("assigneeName"),
+                incident.get("teamId"),
+                incident.get("teamName"),
+                incident.get("escalationLevel"),
+                incident.get("slaBreach"),
+                incident.get("createdAt"),
+                incident.get("acknowledgedAt"),
+                incident.get("resolvedAt"),
+                incident.get("closedAt"));
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Incident> incident, IncidentFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) predicates.add(cb.equal(incident.get("status"), filter.getStatus()));
+        if (filter.getSeverity() != null) predicates.add(cb.equal(incident.get("severity"), filter.getSeverity()));
+        if (filter.getAssigneeId() != null) predicates.add(cb.equal(incident.get("assigneeId"), filter.getAssigneeId()));
+        if (filter.getTeamId() != null) predicates.add(cb.equal(incident.get("teamId"), filter.getTeamId()));
+        return predicates;
+    }
+
+    // (createdAt, id) > (cursor.createdAt, cursor.id), or < when descending
+    // The redundant leading bound on createdAt gives planners that cannot split the OR an index range to seek
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<Incident> incident, IncidentCursor after, boolean ascending) {
+        LocalDateTime createdAt = after.getCreatedAt();
+        if (ascending) {
+            return cb.and(
+                    cb.greaterThanOrEqualTo(incident.<LocalDateTime>get("createdAt"), createdAt),
+                    cb.or(
+                            cb.greaterThan(incident.<LocalDateTime>get("createdAt"), createdAt),
+                            cb.greaterThan(incident.<Long>get("id"), after.getId())));
+        }
+        return cb.and(
+                cb.lessThanOrEqualTo(incident.<LocalDateTime>get("createdAt"), createdAt),
+                cb.or(
+                        cb.lessThan(incident.<LocalDateTime>get("createdAt"), createdAt),
+                        cb.lessThan(incident.<Long>get("id"), after.getId())));
+    }
+
+    // Matches Spring's default physical naming: camelCase attributes become snake_case columns
+    private static String column(String attribute) {
+        return attribute.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
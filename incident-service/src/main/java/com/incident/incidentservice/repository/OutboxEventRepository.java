@@ -0,0 +1,37 @@
+package com.incident.incidentservice.repository;
+
+import com.incident.incidentservice.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // No SKIP LOCKED: a second relay waits for the claim to commit and then sees the claimed rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.parkedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findBatchForUpdate(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids AND e.claimedBy = :owner")
+    int deleteClaimed(@Param("ids") List<Long> ids, @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = NULL, e.claimedUntil = NULL WHERE e.id IN :ids AND e.claimedBy = :owner")
+    int releaseClaimed(@Param("ids") List<Long> ids, @Param("owner") String owner);
+
+    long countByParkedAtIsNull();
+
+    long countByParkedAtIsNotNull();
+
+    Optional<OutboxEvent> findFirstByParkedAtIsNullOrderByIdAsc();
+}
@@ -0,0 +1,76 @@
+package com.incident.incidentservice.repository;
+
+import com.incident.incidentservice.entity.Incident;
+import com.incident.incidentservice.enums.IncidentStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A status change applied only if the incident is currently in one of the target's predecessor statuses,
+ * together with the other columns it sets. See {@link IncidentRepositoryCustom#transition}.
+ */
+@Getter
+public class StatusTransition {
+
+    private final IncidentStatus target;
+    private final Set<IncidentStatus> allowedFrom;
+    private final LocalDateTime now;
+    // Entity attribute -> value, in the order they are written
+    private final Map<String, Object> assignments = new LinkedHashMap<>();
+    // Numeric attributes raised by one in the same statement
+    private final Set<String> increments = new LinkedHashSet<>();
+    private String descriptionSuffix;
+
+    private StatusTransition(IncidentStatus target, LocalDateTime now) {
+        this.target = target;
+        this.allowedFrom = EnumSet.copyOf(IncidentStatus.predecessorsOf(target));
+        this.now = now;
+    }
+
+    public static StatusTransition to(IncidentStatus target) {
+        return new StatusTransition(target, LocalDateTime.now());
+    }
+
+    public StatusTransition set(String attribute, Object value) {
+        assignments.put(attribute, value);
+        return this;
+    }
+
+    public StatusTransition increment(String attribute) {
+        increments.add(attribute);
+        return this;
+    }
+
+    /** Also allows the transition from {@code status}, e.g. re-escalating an incident already escalated. */
+    public StatusTransition alsoFrom(IncidentStatus status) {
+        allowedFrom.add(status);
+        return this;
+    }
+
+    public StatusTransition appendToDescription(String suffix) {
+        this.descriptionSuffix = suffix;
+        return this;
+    }
+
+    public Set<IncidentStatus> getAllowedFrom() {
+        return Collections.unmodifiableSet(allowedFrom);
+    }
+
+    public Map<String, Object> getAssignments() {
+        return Collections.unmodifiableMap(assignments);
+    }
+
+    public Set<String> getIncrements() {
+        return Collections.unmodifiableSet(increments);
+    }
+
+    public record Result(Incident incident, IncidentStatus previousStatus) {
+    }
+}
@@ -2,8 +2,11 @@ package com.incident.incidentservice.repository;
 
 import com.incident.incidentservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Existing users that clash with any of the given usernames or emails, in one query
+    List<User> findByUsernameInOrEmailIn(Collection<String> usernames, Collection<String> emails);
+
+    @Query("SELECT u.id FROM User u WHERE u.active = false")
+    List<Long> findDisabledIds();
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.incident.incidentservice.security;
+
+import com.incident.incidentservice.event.UserChangedEvent;
+import com.incident.incidentservice.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ids of deactivated users whose tokens must stop working before they expire. Since requests are
+ * authenticated from token claims alone, this list is the only revocation check. It is kept current
+ * by {@link UserChangedEvent}s on this node and reloaded periodically to pick up changes made elsewhere.
+ */
+@Component
+@Slf4j
+public class DisabledUserList {
+
+    private final UserRepository userRepository;
+    private volatile Set<Long> disabled = Set.of();
+
+    public DisabledUserList(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        Gauge.builder("auth.disabled.users", this, list -> list.disabled.size()).register(meterRegistry);
+    }
+
+    public boolean contains(Long userId) {
+        return userId != null && disabled.contains(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.deny-list.refresh-ms:30000}")
+    public void refresh() {
+        try {
+            Set<Long> loaded = Set.copyOf(userRepository.findDisabledIds());
+            if (!loaded.equals(disabled)) {
+                log.info("🔒 Disabled user list reloaded: {} users", loaded.size());
+            }
+            disabled = loaded;
+        } catch (Exception e) {
+            log.error("Failed to reload disabled users, keeping {} entries: {}", disabled.size(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        if (event.userId() == null || event.active() != disabled.contains(event.userId())) {
+            return;
+        }
+        Set<Long> updated = new HashSet<>(disabled);
+        if (event.active()) {
+            updated.remove(event.userId());
+        } else {
+            updated.add(event.userId());
+            log.info("🔒 User {} disabled, rejecting their tokens", event.username());
+        }
+        disabled = Set.copyOf(updated);
+    }
+}
@@ -1,5 +1,7 @@
 package com.incident.incidentservice.security;
 
+import com.incident.incidentservice.entity.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final DisabledUserList disabledUsers;
 
     @Override
     protected void doFilterInternal(
@@ -44,12 +47,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            username = jwtService.extractUsername(jwt);
+            // Verifies signature and expiry once; repeat tokens are served from JwtService's cache
+            Claims claims = jwtService.validate(jwt);
+            username = claims.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = jwtService.principalFrom(claims);
+                if (userDetails == null) {
+                    // Token issued before id/role claims existed
+                    userDetails = this.userDetailsService.loadUserByUsername(username);
+                }
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (isDisabled(userDetails)) {
+                    log.warn("Rejected token for disabled user {}", username);
+                } else if (username.equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -66,4 +77,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private boolean isDisabled(UserDetails userDetails) {
+        return !userDetails.isEnabled()
+                || userDetails instanceof User user && disabledUsers.contains(user.getId());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.incident.incidentservice.service;
+
+import com.incident.incidentservice.dto.ActiveIncidentConsistencyReport;
+import com.incident.incidentservice.dto.IncidentResponse;
+import com.incident.incidentservice.dto.IncidentSummary;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.mapper.IncidentMapper;
+import com.incident.incidentservice.repository.IncidentRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of active incidents, seeded from the database at startup and kept current from
+ * local lifecycle transitions (after commit) and the incident-event stream for changes made on other nodes.
+ */
+@Component
+@Slf4j
+public class ActiveIncidentView {
+
+    static final List<IncidentStatus> ACTIVE_STATUSES = List.of(
+            IncidentStatus.TRIGGERED, IncidentStatus.ACKNOWLEDGED,
+            IncidentStatus.INVESTIGATING, IncidentStatus.ESCALATED);
+    private static final Set<IncidentStatus> ACTIVE = EnumSet.copyOf(ACTIVE_STATUSES);
+    private static final Comparator<IncidentSummary> NEWEST_FIRST = Comparator
+            .comparing(IncidentSummary::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(IncidentSummary::getId, Comparator.reverseOrder());
+
+    private final IncidentRepository incidentRepository;
+    private final IncidentMapper mapper;
+    private final Map<Long, IncidentSummary> active = new ConcurrentHashMap<>();
+    // Bumped after every change to active; a snapshot is served only while its stamp is still current
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private volatile boolean seeded;
+    // Ids changed from events while a seed is loading; the seed's older copy must not overwrite them
+    private volatile Set<Long> changedDuringSeed;
+
+    public ActiveIncidentView(IncidentRepository incidentRepository, IncidentMapper mapper, MeterRegistry meterRegistry) {
+        this.incidentRepository = incidentRepository;
+        this.mapper = mapper;
+        Gauge.builder("incident.active.view.size", active, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringSeed = changed;
+        try {
+            Map<Long, IncidentSummary> fromDb = loadFromDatabase();
+            active.keySet().removeIf(id -> !fromDb.containsKey(id) && !changed.contains(id));
+            fromDb.forEach((id, summary) -> {
+                if (!changed.contains(id)) {
+                    active.put(id, summary);
+                }
+            });
+            version.incrementAndGet();
+            seeded = true;
+            log.info("✅ Active incident view seeded with {} incidents", fromDb.size());
+        } finally {
+            changedDuringSeed = null;
+        }
+    }
+
+    /**
+     * Active incidents, newest first. Falls back to the database until the view has been seeded.
+     */
+    public List<IncidentSummary> getActive() {
+        if (!seeded) {
+            return loadFromDatabase().values().stream().sorted(NEWEST_FIRST).toList();
+        }
+        long stamp = version.get();
+        Snapshot current = snapshot.get();
+        if (current != null && current.version() == stamp) {
+            return current.incidents();
+        }
+        // Stamped with the version read before building, so a change made meanwhile makes it stale at once;
+        // a slower reader's older build never replaces a newer one
+        Snapshot built = new Snapshot(stamp, active.values().stream().sorted(NEWEST_FIRST).toList());
+        snapshot.accumulateAndGet(built, (existing, candidate) ->
+                existing != null && existing.version() >= candidate.version() ? existing : candidate);
+        return built.incidents();
+    }
+
+    public void applyAfterCommit(IncidentResponse incident) {
+        AfterCommit.run(() -> apply(incident));
+    }
+
+    public void apply(IncidentResponse incident) {
+        markChanged(incident.getId());
+        if (incident.getStatus() != null && ACTIVE.contains(incident.getStatus())) {
+            active.put(incident.getId(), mapper.toSummary(incident));
+        } else {
+            active.remove(incident.getId());
+        }
+        version.incrementAndGet();
+    }
+
+    public void remove(Long id) {
+        markChanged(id);
+        if (active.remove(id) != null) {
+            version.incrementAndGet();
+        }
+    }
+
+    // Recorded before the change is made, so a seed that checks afterwards never overwrites it
+    private void markChanged(Long id) {
+        Set<Long> changed = changedDuringSeed;
+        if (changed != null) {
+            changed.add(id);
+        }
+    }
+
+    public static boolean isActive(IncidentStatus status) {
+        return status != null && ACTIVE.contains(status);
+    }
+
+    /**
+     * Compares the view with the database without changing either.
+     */
+    public ActiveIncidentConsistencyReport check() {
+        Map<Long, IncidentSummary> fromDb = loadFromDatabase();
+        Map<Long, IncidentSummary> view = Map.copyOf(active);
+
+        List<Long> missing = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        fromDb.forEach((id, expected) -> {
+            IncidentSummary actual = view.get(id);
+            if (actual == null) {
+                missing.add(id);
+            } else if (!sameListFields(expected, actual)) {
+                stale.add(id);
+            }
+        });
+        List<Long> extra = view.keySet().stream().filter(id -> !fromDb.containsKey(id)).sorted().toList();
+        missing.sort(null);
+        stale.sort(null);
+
+        return ActiveIncidentConsistencyReport.builder()
+                .viewSize(view.size())
+                .databaseSize(fromDb.size())
+                .missing(missing)
+                .stale(stale)
+                .extra(extra)
+                .consistent(missing.isEmpty() && stale.isEmpty() && extra.isEmpty())
+                .build();
+    }
+
+    /**
+     * Runs a consistency check and, if the view has drifted, reseeds it from the database.
+     */
+    public ActiveIncidentConsistencyReport resync() {
+        ActiveIncidentConsistencyReport report = check();
+        if (!report.isConsistent()) {
+            log.warn("Active incident view drifted (missing={}, stale={}, extra={}), reseeding",
+                    report.getMissing().size(), report.getStale().size(), report.getExtra().size());
+            seed();
+        }
+        return report;
+    }
+
+    private Map<Long, IncidentSummary> loadFromDatabase() {
+        return incidentRepository.findSummariesByStatusIn(ACTIVE_STATUSES).stream()
+                .collect(Collectors.toMap(IncidentSummary::getId, Function.identity()));
+    }
+
+    private static boolean sameListFields(IncidentSummary a, IncidentSummary b) {
+        return a.getStatus() == b.getStatus()
+                && a.getSeverity() == b.getSeverity()
+                && a.getEscalationLevel() == b.getEscalationLevel()
+                && a.isSlaBreach() == b.isSlaBreach()
+                && Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getAssigneeId(), b.getAssigneeId())
+                && Objects.equals(a.getTeamId(), b.getTeamId());
+    }
+
+    private record Snapshot(long version, List<IncidentSummary> incidents) {
+    }
+}
@@ -5,10 +5,12 @@ import com.incident.incidentservice.dto.auth.LoginRequest;
 import com.incident.incidentservice.dto.auth.RegisterRequest;
 import com.incident.incidentservice.entity.User;
 import com.incident.incidentservice.enums.Role;
+import com.incident.incidentservice.event.UserChangedEvent;
 import com.incident.incidentservice.repository.UserRepository;
 import com.incident.incidentservice.security.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserDirectory userDirectory;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -43,6 +47,7 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.isEnabled()));
         log.info("User registered: {}", user.getUsername());
 
         String token = jwtService.generateToken(user);
@@ -63,7 +68,7 @@ public class AuthService {
                 )
         );
 
-        User user = userRepository.findByUsername(request.getUsername())
+        User user = userDirectory.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         String token = jwtService.generateToken(user);
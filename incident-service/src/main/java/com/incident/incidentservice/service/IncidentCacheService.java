@@ -1,66 +1,273 @@
 package com.incident.incidentservice.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.incident.incidentservice.cache.SingleFlight;
 import com.incident.incidentservice.dto.IncidentResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Two-tier incident cache: a bounded in-process L1 (Caffeine) in front of Redis (L2).
+ * L1 entries on other nodes are dropped by {@link com.incident.incidentservice.kafka.IncidentChangeListener}.
+ * <p>
+ * Misses are loaded through a per-key {@link SingleFlight}, and hot Redis entries can be refreshed
+ * early with probability rising towards expiry (XFetch), so popular keys do not all expire at once.
+ * <p>
+ * Writes never replace a newer copy with an older one: each entry carries the row version it was read
+ * at, L1 keeps the higher of two, and Redis writes go through a script that compares against the last
+ * version written for that incident. Commits finishing out of order therefore cannot leave an older
+ * state cached for the full TTL.
+ */
 @Service
 @Slf4j
 public class IncidentCacheService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, IncidentResponse> redisTemplate;
+    private final Cache<Long, IncidentResponse> localCache;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final boolean writeThrough;
+    private final SingleFlight<Long, IncidentResponse> loads = new SingleFlight<>();
+    private final Executor refreshExecutor;
+    private final boolean earlyRefresh;
+    private final double earlyRefreshBeta;
+    private final Counter earlyRefreshes;
+    private volatile double avgLoadMillis = 10;
     private static final String CACHE_PREFIX = "incident:";
+    private static final String VERSION_SUFFIX = ":version";
     private static final long CACHE_TTL_MINUTES = 30;
+    // The version key is left alone by evictions, so a writer still holding an older read cannot bring it back
+    private static final byte[] WRITE_IF_NEWER = """
+            local cached = redis.call('GET', KEYS[2])
+            if cached and tonumber(cached) > tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TTL_MILLIS = bytes(TimeUnit.MINUTES.toMillis(CACHE_TTL_MINUTES));
 
-    public IncidentCacheService(RedisTemplate<String, Object> redisTemplate) {
+    public IncidentCacheService(RedisTemplate<String, IncidentResponse> redisTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${incident.cache.l1.max-size:10000}") long l1MaxSize,
+                                @Value("${incident.cache.l1.ttl:30s}") Duration l1Ttl,
+                                @Value("${incident.cache.write-through:true}") boolean writeThrough,
+                                @Value("${incident.cache.early-refresh.enabled:false}") boolean earlyRefresh,
+                                @Value("${incident.cache.early-refresh.beta:1.0}") double earlyRefreshBeta,
+                                @Qualifier("applicationTaskExecutor") Executor refreshExecutor) {
         this.redisTemplate = redisTemplate;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.writeThrough = writeThrough;
+        this.earlyRefresh = earlyRefresh;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = refreshExecutor;
+
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(l1Ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "incident.l1");
+
+        this.l2Hits = Counter.builder("incident.cache.l2.requests").tag("result", "hit").register(meterRegistry);
+        this.l2Misses = Counter.builder("incident.cache.l2.requests").tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("incident.cache.loads.coalesced", loads, SingleFlight::coalesced).register(meterRegistry);
+        this.earlyRefreshes = Counter.builder("incident.cache.early.refreshes").register(meterRegistry);
+        Gauge.builder("incident.cache.loads.in.flight", loads, SingleFlight::inFlight).register(meterRegistry);
+        Gauge.builder("incident.cache.hit.ratio", localCache, c -> c.stats().hitRate())
+                .tag("tier", "l1").register(meterRegistry);
+        Gauge.builder("incident.cache.hit.ratio", this, IncidentCacheService::l2HitRatio)
+                .tag("tier", "l2").register(meterRegistry);
     }
 
     public void cacheIncident(IncidentResponse incident) {
+        putLocal(incident);
         try {
-            String key = CACHE_PREFIX + incident.getId();
-            redisTemplate.opsForValue().set(key, incident, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
-            log.info("✅ Cached incident: {}", incident.getIncidentNumber());
+            Long written = redisTemplate.execute((RedisCallback<Long>) connection -> writeIfNewer(connection, incident));
+            if (Long.valueOf(1).equals(written)) {
+                log.info("✅ Cached incident: {}", incident.getIncidentNumber());
+            } else {
+                log.debug("Kept the newer cached copy of incident {} over version {}", incident.getId(), incident.getVersion());
+            }
         } catch (Exception e) {
             log.error("Failed to cache incident: {}", e.getMessage());
         }
     }
 
+    /**
+     * Returns the cached incident or loads it, letting only one caller per id run {@code loader}
+     * while concurrent callers wait for its result.
+     */
+    public IncidentResponse getOrLoad(Long id, Supplier<IncidentResponse> loader) {
+        IncidentResponse cached = earlyRefresh ? getFromCacheWithEarlyRefresh(id, loader) : getFromCache(id);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.execute(id, () -> load(loader));
+    }
+
     public IncidentResponse getFromCache(Long id) {
+        IncidentResponse local = localCache.getIfPresent(id);
+        if (local != null) {
+            log.debug("🎯 L1 cache HIT for incident ID: {}", id);
+            return local;
+        }
+
         try {
             String key = CACHE_PREFIX + id;
-            Object cached = redisTemplate.opsForValue().get(key);
+            IncidentResponse cached = redisTemplate.opsForValue().get(key);
 
             if (cached == null) {
+                l2Misses.increment();
                 log.info("❌ Cache MISS for incident ID: {}", id);
                 return null;
             }
 
+            l2Hits.increment();
             log.info("🎯 Cache HIT for incident ID: {}", id);
 
-            // Convert to IncidentResponse
-            if (cached instanceof IncidentResponse) {
-                return (IncidentResponse) cached;
-            }
+            putLocal(cached);
+            return cached;
+
+        } catch (Exception e) {
+            log.error("Failed to get from cache: {}", e.getMessage());
+            return null;
+        }
+    }
 
-            // Handle LinkedHashMap from Redis
-            return objectMapper.convertValue(cached, IncidentResponse.class);
+    private IncidentResponse getFromCacheWithEarlyRefresh(Long id, Supplier<IncidentResponse> loader) {
+        IncidentResponse local = localCache.getIfPresent(id);
+        if (local != null) {
+            return local;
+        }
 
+        try {
+            String key = CACHE_PREFIX + id;
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, IncidentResponse> ops = (RedisOperations<String, IncidentResponse>) operations;
+                    ops.opsForValue().get(key);
+                    ops.getExpire(key, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+            });
+            if (!(results.get(0) instanceof IncidentResponse cached)) {
+                l2Misses.increment();
+                return null;
+            }
+            l2Hits.increment();
+            putLocal(cached);
+
+            if (results.get(1) instanceof Long ttlMillis && shouldRefreshEarly(ttlMillis)
+                    && loads.executeAsync(id, () -> load(loader), refreshExecutor)) {
+                earlyRefreshes.increment();
+                log.debug("Refreshing incident {} early, {} ms before expiry", id, ttlMillis);
+            }
+            return cached;
         } catch (Exception e) {
             log.error("Failed to get from cache: {}", e.getMessage());
             return null;
         }
     }
 
+    // XFetch: refresh when -delta * beta * ln(rand) reaches the remaining TTL
+    private boolean shouldRefreshEarly(long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return false;
+        }
+        double rand = ThreadLocalRandom.current().nextDouble();
+        return -avgLoadMillis * earlyRefreshBeta * Math.log(rand) >= ttlMillis;
+    }
+
+    private IncidentResponse load(Supplier<IncidentResponse> loader) {
+        long start = System.nanoTime();
+        IncidentResponse loaded = loader.get();
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        avgLoadMillis = avgLoadMillis * 0.9 + millis * 0.1;
+        cacheIncident(loaded);
+        return loaded;
+    }
+
+    /**
+     * Looks up several incidents at once: L1 first, then a single MGET for the rest.
+     * Ids that are not cached are simply absent from the returned map.
+     */
+    public Map<Long, IncidentResponse> getAllFromCache(Collection<Long> ids) {
+        Map<Long, IncidentResponse> found = new HashMap<>(localCache.getAllPresent(ids));
+        List<Long> remaining = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (remaining.isEmpty()) {
+            return found;
+        }
+
+        try {
+            List<IncidentResponse> cached = redisTemplate.opsForValue()
+                    .multiGet(remaining.stream().map(id -> CACHE_PREFIX + id).toList());
+            for (int i = 0; i < remaining.size(); i++) {
+                IncidentResponse incident = cached == null ? null : cached.get(i);
+                if (incident == null) {
+                    l2Misses.increment();
+                    continue;
+                }
+                l2Hits.increment();
+                putLocal(incident);
+                found.put(incident.getId(), incident);
+            }
+            log.info("Batch cache lookup: {} requested, {} found", ids.size(), found.size());
+        } catch (Exception e) {
+            log.error("Failed to batch get from cache: {}", e.getMessage());
+        }
+        return found;
+    }
+
+    /**
+     * Caches several incidents with one pipelined round trip to Redis.
+     */
+    public void cacheAll(Collection<IncidentResponse> incidents) {
+        if (incidents.isEmpty()) {
+            return;
+        }
+        incidents.forEach(this::putLocal);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                incidents.forEach(incident -> writeIfNewer(connection, incident));
+                return null;
+            });
+            log.info("✅ Cached {} incidents", incidents.size());
+        } catch (Exception e) {
+            log.error("Failed to batch cache incidents: {}", e.getMessage());
+        }
+    }
+
     public void evictFromCache(Long id) {
+        localCache.invalidate(id);
         try {
             String key = CACHE_PREFIX + id;
             redisTemplate.delete(key);
@@ -69,4 +276,74 @@ public class IncidentCacheService {
             log.error("Failed to evict from cache: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Evicts several incidents once the transaction commits: L1 locally, Redis with a single DEL.
+     */
+    public void evictAllAfterCommit(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            localCache.invalidateAll(ids);
+            try {
+                redisTemplate.delete(ids.stream().map(id -> CACHE_PREFIX + id).toList());
+                log.info("🗑️ Evicted {} incidents from cache", ids.size());
+            } catch (Exception e) {
+                log.error("Failed to batch evict from cache: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Replaces (write-through) or evicts the cached entry once the surrounding transaction commits,
+     * so a rolled-back change never reaches the cache. Outside a transaction it applies immediately.
+     * A write-through loses to a newer version already cached.
+     */
+    public void updateAfterCommit(IncidentResponse incident) {
+        AfterCommit.run(writeThrough
+                ? () -> cacheIncident(incident)
+                : () -> evictFromCache(incident.getId()));
+    }
+
+    /**
+     * Caches newly created incidents once the transaction commits. Without write-through there is
+     * nothing to evict for new ids, so this does nothing.
+     */
+    public void cacheAllAfterCommit(Collection<IncidentResponse> incidents) {
+        if (writeThrough) {
+            AfterCommit.run(() -> cacheAll(incidents));
+        }
+    }
+
+    /**
+     * Drops only the in-process copy; Redis is left to the node that made the change.
+     */
+    public void evictLocal(Long id) {
+        localCache.invalidate(id);
+    }
+
+    private void putLocal(IncidentResponse incident) {
+        localCache.asMap().merge(incident.getId(), incident,
+                (cached, offered) -> offered.getVersion() >= cached.getVersion() ? offered : cached);
+    }
+
+    // EVAL rather than EVALSHA, so it also works inside a pipeline where a NOSCRIPT reply cannot be retried
+    @SuppressWarnings("unchecked")
+    private Long writeIfNewer(RedisConnection connection, IncidentResponse incident) {
+        String key = CACHE_PREFIX + incident.getId();
+        byte[] value = ((RedisSerializer<IncidentResponse>) redisTemplate.getValueSerializer()).serialize(incident);
+        return connection.scriptingCommands().eval(WRITE_IF_NEWER, ReturnType.INTEGER, 2,
+                bytes(key), bytes(key + VERSION_SUFFIX), value, bytes(incident.getVersion()), TTL_MILLIS);
+    }
+
+    private static byte[] bytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private double l2HitRatio() {
+        double hits = l2Hits.count();
+        double total = hits + l2Misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+}
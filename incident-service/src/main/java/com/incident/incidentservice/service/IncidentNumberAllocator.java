@@ -0,0 +1,192 @@
+package com.incident.incidentservice.service;
+
+import com.incident.incidentservice.entity.IncidentNumberCounter;
+import com.incident.incidentservice.repository.IncidentNumberCounterRepository;
+import com.incident.incidentservice.repository.IncidentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out INC-yyyyMMdd-NNNN numbers that are unique across nodes.
+ * <p>
+ * Each node reserves a block of numbers from a counter row (one short locking transaction per block)
+ * and then serves the block from memory without locks. Numbers are unique but not gap-free: a block
+ * that is not used up before shutdown is lost.
+ * <p>
+ * Callers already hold a pooled connection inside their own transaction, so reservations run on the
+ * allocator's own thread, and the next block is reserved once half of the current one is used. A caller
+ * then rarely waits for a reservation, and never needs a second connection from its own thread.
+ */
+@Component
+@Slf4j
+public class IncidentNumberAllocator {
+
+    static final String GLOBAL_KEY = "global";
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final IncidentNumberCounterRepository counterRepository;
+    private final IncidentRepository incidentRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+    private final boolean resetDaily;
+    private final Counter blocksReserved;
+    private final AtomicReference<Block> current = new AtomicReference<>();
+    private final AtomicReference<Reservation> reserved = new AtomicReference<>();
+    private final ExecutorService reserver = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "incident-number-reserver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IncidentNumberAllocator(IncidentNumberCounterRepository counterRepository,
+                                   IncidentRepository incidentRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${incident.number.block-size:50}") int blockSize,
+                                   @Value("${incident.number.reset-daily:false}") boolean resetDaily) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("incident.number.block-size must be at least 1");
+        }
+        this.counterRepository = counterRepository;
+        this.incidentRepository = incidentRepository;
+        this.blockSize = blockSize;
+        this.resetDaily = resetDaily;
+        // The reservation commits on its own, so the counter row is not locked for the caller's whole transaction
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blocksReserved = Counter.builder("incident.number.blocks.reserved").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reserver.shutdown();
+    }
+
+    public String next() {
+        String day = LocalDate.now().format(DAY);
+        return String.format("INC-%s-%04d", day, nextValue(resetDaily ? day : GLOBAL_KEY));
+    }
+
+    long nextValue(String key) {
+        while (true) {
+            Block block = current.get();
+            if (block != null && block.key.equals(key)) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    // Exactly one caller draws the half-way number, so the next block is requested once
+                    if (value == block.halfway) {
+                        reserveAhead(key);
+                    }
+                    return value;
+                }
+            }
+            refill(block, key);
+        }
+    }
+
+    private synchronized void refill(Block seen, String key) {
+        // Another thread may have refilled while this one waited for the lock
+        if (current.get() != seen) {
+            return;
+        }
+        Reservation next = reserved.getAndSet(null);
+        CompletableFuture<Long> pending = next != null && next.key.equals(key) ? next.start : reserveAsync(key);
+        long start;
+        try {
+            start = pending.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        current.set(new Block(key, start, start + blockSize));
+    }
+
+    private void reserveAhead(String key) {
+        Reservation existing = reserved.get();
+        if (existing == null || !existing.key.equals(key)) {
+            reserved.compareAndSet(existing, new Reservation(key, reserveAsync(key)));
+        }
+    }
+
+    private CompletableFuture<Long> reserveAsync(String key) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = reserve(key);
+            blocksReserved.increment();
+            log.debug("Reserved incident numbers {}..{} for {}", start, start + blockSize - 1, key);
+            return start;
+        }, reserver);
+    }
+
+    private long reserve(String key) {
+        try {
+            return requiresNew.execute(status -> reserveInTransaction(key));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the counter row first; it exists now, so lock and advance it
+            return requiresNew.execute(status -> reserveInTransaction(key));
+        }
+    }
+
+    private long reserveInTransaction(String key) {
+        IncidentNumberCounter counter = counterRepository.findForUpdate(key).orElse(null);
+        if (counter == null) {
+            // Continue after the highest id so numbers issued before the counter existed are not reused;
+            // a new day continues after any number already issued that day. Both are index lookups.
+            long first = GLOBAL_KEY.equals(key) ? incidentRepository.findMaxId() + 1 : highestIssuedOn(key) + 1;
+            counterRepository.saveAndFlush(IncidentNumberCounter.create(key, first + blockSize));
+            return first;
+        }
+        long start = counter.getNextValue();
+        counter.setNextValue(start + blockSize);
+        return start;
+    }
+
+    // Numbers handed out for this day by the global counter, before reset-daily was switched on
+    private long highestIssuedOn(String day) {
+        List<String> highest = incidentRepository.findIncidentNumbersStartingWith("INC-" + day + "-", PageRequest.of(0, 1));
+        if (highest.isEmpty()) {
+            return 0;
+        }
+        String number = highest.get(0);
+        try {
+            return Long.parseLong(number.substring(number.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring unexpected incident number {} when starting the counter for {}", number, day);
+            return 0;
+        }
+    }
+
+    private static final class Block {
+        private final String key;
+        private final AtomicLong next;
+        private final long halfway;
+        private final long end;
+
+        private Block(String key, long start, long end) {
+            this.key = key;
+            this.next = new AtomicLong(start);
+            this.halfway = start + (end - start) / 2;
+            this.end = end;
+        }
+    }
+
+    private record Reservation(String key, CompletableFuture<Long> start) {
+    }
+}
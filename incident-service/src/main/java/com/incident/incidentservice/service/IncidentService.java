@@ -7,12 +7,15 @@ import com.incident.incidentservice.enums.IncidentStatus;
 import com.incident.incidentservice.enums.Severity;
 import com.incident.incidentservice.event.IncidentEvent;
 import com.incident.incidentservice.exception.IncidentNotFoundException;
+import com.incident.incidentservice.exception.IncidentConflictException;
 import com.incident.incidentservice.exception.InvalidStatusTransitionException;
-import com.incident.incidentservice.kafka.IncidentEventProducer;
+import com.incident.incidentservice.kafka.IncidentOutbox;
 import com.incident.incidentservice.mapper.IncidentMapper;
+import com.incident.incidentservice.repository.IncidentFilter;
 import com.incident.incidentservice.repository.IncidentRepository;
-import com.incident.incidentservice.repository.UserRepository;
-import jakarta.annotation.PostConstruct;
+import com.incident.incidentservice.repository.StatusTransition;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.*;
@@ -20,10 +23,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,87 +43,136 @@ import java.util.concurrent.atomic.AtomicLong;
 public class IncidentService {
 
     private final IncidentRepository incidentRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final IncidentMapper mapper;
-    private final IncidentEventProducer eventProducer;
+    private final IncidentOutbox outbox;
     private final IncidentCacheService cacheService;
-    private static final AtomicLong counter = new AtomicLong(0);
-
-    @PostConstruct
-    public void initCounter() {
-        long count = incidentRepository.count();
-        counter.set(count);
-        log.info("✅ Initialized incident counter to: {}", count);
-    }
+    private final ActiveIncidentView activeIncidentView;
+    private final IncidentNumberAllocator numberAllocator;
+    private final Validator validator;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 500;
 
     @Transactional
     public IncidentResponse createIncident(CreateIncidentRequest request) {
         log.info("Creating incident: {}", request.getTitle());
 
-        Incident incident = Incident.builder()
-                .incidentNumber(generateIncidentNumber())
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .severity(request.getSeverity())
-                .status(IncidentStatus.TRIGGERED)
-                .teamId(request.getTeamId())
-                .build();
-
-        if (request.getAssigneeId() != null) {
-            userRepository.findById(request.getAssigneeId()).ifPresent(user -> {
-                incident.setAssigneeId(user.getId());
-                incident.setAssigneeName(user.getUsername());
-                incident.setTeamId(Long.valueOf(user.getTeamId()));
-                incident.setTeamName(user.getTeamName());
-            });
-        }
+        User assignee = request.getAssigneeId() == null ? null
+                : userDirectory.findById(request.getAssigneeId()).orElse(null);
+        Incident incident = newIncident(request, assignee);
 
         Incident saved = incidentRepository.save(incident);
         log.info("Incident created: {}", saved.getIncidentNumber());
 
         publishEvent("CREATED", saved, null);
 
-        IncidentResponse response = mapper.toResponse(saved);
-        cacheService.cacheIncident(response);
+        return cacheResponse(saved);
+    }
 
-        return response;
+    /**
+     * Creates many incidents in one transaction. Invalid items are reported and skipped; valid ones
+     * are inserted with JDBC batching and their CREATED events are written to the outbox together.
+     */
+    @Transactional
+    public BulkOperationResponse createIncidents(List<CreateIncidentRequest> requests) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " incidents can be created at once");
+        }
+
+        Set<Long> assigneeIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(CreateIncidentRequest::getAssigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> assignees = userDirectory.findAllById(assigneeIds);
+
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<Incident> incidents = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateIncidentRequest request = requests.get(i);
+            List<String> errors = request == null ? List.of("Request is empty")
+                    : validator.validate(request).stream().map(ConstraintViolation::getMessage).sorted().toList();
+            if (!errors.isEmpty()) {
+                results[i] = BulkItemResult.builder().index(i).success(false).errors(errors).build();
+                continue;
+            }
+            positions.add(i);
+            incidents.add(newIncident(request, assignees.get(request.getAssigneeId())));
+        }
+
+        List<Incident> saved = incidentRepository.saveAll(incidents);
+        List<IncidentResponse> responses = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Incident incident = saved.get(i);
+            responses.add(mapper.toResponse(incident));
+            results[positions.get(i)] = BulkItemResult.builder()
+                    .index(positions.get(i))
+                    .success(true)
+                    .incidentId(incident.getId())
+                    .incidentNumber(incident.getIncidentNumber())
+                    .build();
+        }
+        log.info("Bulk created {} of {} incidents", saved.size(), requests.size());
+
+        outbox.addAll(saved.stream().map(incident -> buildEvent("CREATED", incident, null)).toList());
+        cacheService.cacheAllAfterCommit(responses);
+        responses.forEach(activeIncidentView::applyAfterCommit);
+
+        return BulkOperationResponse.of(Arrays.asList(results));
     }
 
     public IncidentResponse getById(Long id) {
-        // 1. Check cache first
-        IncidentResponse cached = cacheService.getFromCache(id);
-        if (cached != null) {
-            return cached;
+        // Cache first; on a miss only one concurrent caller per id goes to the database
+        return cacheService.getOrLoad(id, () -> mapper.toResponse(findIncidentById(id)));
+    }
+
+    /**
+     * Returns the requested incidents in request order; unknown ids are skipped.
+     */
+    public List<IncidentResponse> getByIds(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids can be requested at once");
         }
 
-        // 2. Not in cache, get from database
-        Incident incident = findIncidentById(id);
-        IncidentResponse response = mapper.toResponse(incident);
+        Map<Long, IncidentResponse> found = new HashMap<>(cacheService.getAllFromCache(distinctIds));
 
-        // 3. Store in cache for next time
-        cacheService.cacheIncident(response);
+        List<Long> misses = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            List<IncidentResponse> loaded = incidentRepository.findAllById(misses).stream()
+                    .map(mapper::toResponse).toList();
+            cacheService.cacheAll(loaded);
+            loaded.forEach(incident -> found.put(incident.getId(), incident));
+        }
 
-        return response;
+        return distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
     }
 
-    public PagedResponse<IncidentResponse> getAll(int page, int size, String sortBy, String sortDir) {
+    public PagedResponse<IncidentSummary> getAll(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Page<Incident> incidents = incidentRepository.findAll(PageRequest.of(page, size, sort));
+        Page<IncidentSummary> incidents = incidentRepository.findByFilter(IncidentFilter.none(), PageRequest.of(page, size, sort));
         return buildPagedResponse(incidents);
     }
 
-    public PagedResponse<IncidentResponse> getByFilters(IncidentStatus status, Severity severity, Long assigneeId, int page, int size) {
+    public PagedResponse<IncidentSummary> getByFilters(IncidentStatus status, Severity severity, Long assigneeId, Long teamId,
+                                                       int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Incident> incidents = incidentRepository.findByFilters(status, severity, assigneeId, pageable);
+        Page<IncidentSummary> incidents = incidentRepository.findByFilter(filter(status, severity, assigneeId, teamId), pageable);
         return buildPagedResponse(incidents);
     }
 
-    public List<IncidentResponse> getActiveIncidents() {
-        List<IncidentStatus> activeStatuses = List.of(
-                IncidentStatus.TRIGGERED, IncidentStatus.ACKNOWLEDGED,
-                IncidentStatus.INVESTIGATING, IncidentStatus.ESCALATED);
-        return incidentRepository.findByStatusIn(activeStatuses).stream()
-                .map(mapper::toResponse).toList();
+    public CursorPagedResponse<IncidentSummary> getAllByCursor(String cursor, int size, String sortDir, boolean includeTotal) {
+        return getPageAfter(IncidentFilter.none(), cursor, size, !sortDir.equalsIgnoreCase("desc"), includeTotal);
+    }
+
+    public CursorPagedResponse<IncidentSummary> getByFiltersCursor(IncidentStatus status, Severity severity, Long assigneeId,
+                                                                  Long teamId, String cursor, int size, boolean includeTotal) {
+        return getPageAfter(filter(status, severity, assigneeId, teamId), cursor, size, false, includeTotal);
+    }
+
+    public List<IncidentSummary> getActiveIncidents() {
+        return activeIncidentView.getActive();
     }
 
     @Transactional
@@ -122,148 +183,223 @@ public class IncidentService {
         if (request.getDescription() != null) incident.setDescription(request.getDescription());
         if (request.getSeverity() != null) incident.setSeverity(request.getSeverity());
         if (request.getAssigneeId() != null) {
-            userRepository.findById(request.getAssigneeId()).ifPresent(user -> {
+            userDirectory.findById(request.getAssigneeId()).ifPresent(user -> {
                 incident.setAssigneeId(user.getId());
                 incident.setAssigneeName(user.getUsername());
             });
         }
         if (request.getTeamId() != null) incident.setTeamId(request.getTeamId());
 
-        Incident saved = incidentRepository.save(incident);
+        // Flushed so the response carries the version this change produced, which the cache compares on
+        Incident saved = incidentRepository.saveAndFlush(incident);
         publishEvent("UPDATED", saved, null);
 
-        cacheService.evictFromCache(id);
-
-        return mapper.toResponse(saved);
+        return cacheResponse(saved);
     }
 
     @Transactional
     public IncidentResponse acknowledge(Long id, Long userId) {
-        Incident incident = findIncidentById(id);
-        IncidentStatus previousStatus = incident.getStatus();
-        validateTransition(previousStatus, IncidentStatus.ACKNOWLEDGED);
-
-        incident.setStatus(IncidentStatus.ACKNOWLEDGED);
-        incident.setAcknowledgedAt(LocalDateTime.now());
-
+        StatusTransition transition = StatusTransition.to(IncidentStatus.ACKNOWLEDGED);
+        transition.set("acknowledgedAt", transition.getNow());
         if (userId != null) {
-            userRepository.findById(userId).ifPresent(user -> {
-                incident.setAssigneeId(user.getId());
-                incident.setAssigneeName(user.getUsername());
-            });
+            userDirectory.findById(userId).ifPresent(user -> transition
+                    .set("assigneeId", user.getId())
+                    .set("assigneeName", user.getUsername()));
         }
 
-        Incident saved = incidentRepository.save(incident);
-        log.info("Incident {} acknowledged", incident.getIncidentNumber());
+        StatusTransition.Result result = applyTransition(id, transition);
+        log.info("Incident {} acknowledged", result.incident().getIncidentNumber());
 
-        publishEvent("ACKNOWLEDGED", saved, previousStatus);
+        publishEvent("ACKNOWLEDGED", result.incident(), result.previousStatus());
 
-        cacheService.evictFromCache(id);
-
-        return mapper.toResponse(saved);
+        return cacheResponse(result.incident());
     }
 
     @Transactional
     public IncidentResponse resolve(Long id, String resolution) {
-        Incident incident = findIncidentById(id);
-        IncidentStatus previousStatus = incident.getStatus();
-        validateTransition(previousStatus, IncidentStatus.RESOLVED);
-
-        incident.setStatus(IncidentStatus.RESOLVED);
-        incident.setResolvedAt(LocalDateTime.now());
+        StatusTransition transition = StatusTransition.to(IncidentStatus.RESOLVED);
+        transition.set("resolvedAt", transition.getNow());
         if (resolution != null) {
-            incident.setDescription(incident.getDescription() + "\n\nResolution: " + resolution);
+            transition.appendToDescription("\n\nResolution: " + resolution);
         }
 
-        Incident saved = incidentRepository.save(incident);
-        log.info("Incident {} resolved", incident.getIncidentNumber());
-
-        publishEvent("RESOLVED", saved, previousStatus);
+        StatusTransition.Result result = applyTransition(id, transition);
+        log.info("Incident {} resolved", result.incident().getIncidentNumber());
 
-        cacheService.evictFromCache(id);
+        publishEvent("RESOLVED", result.incident(), result.previousStatus());
 
-        return mapper.toResponse(saved);
+        return cacheResponse(result.incident());
     }
 
     @Transactional
     public IncidentResponse close(Long id) {
-        Incident incident = findIncidentById(id);
-        IncidentStatus previousStatus = incident.getStatus();
-        if (previousStatus != IncidentStatus.RESOLVED) {
-            throw new InvalidStatusTransitionException(previousStatus, IncidentStatus.CLOSED);
-        }
-
-        incident.setStatus(IncidentStatus.CLOSED);
-        incident.setClosedAt(LocalDateTime.now());
-
-        Incident saved = incidentRepository.save(incident);
-        log.info("Incident {} closed", incident.getIncidentNumber());
+        StatusTransition transition = StatusTransition.to(IncidentStatus.CLOSED);
+        transition.set("closedAt", transition.getNow());
 
-        publishEvent("CLOSED", saved, previousStatus);
+        StatusTransition.Result result = applyTransition(id, transition);
+        log.info("Incident {} closed", result.incident().getIncidentNumber());
 
-        cacheService.evictFromCache(id);
+        publishEvent("CLOSED", result.incident(), result.previousStatus());
 
-        return mapper.toResponse(saved);
+        return cacheResponse(result.incident());
     }
 
+    // One UPDATE, so a concurrent edit of other columns is neither overwritten nor a version conflict
     @Transactional
     public IncidentResponse assign(Long id, Long assigneeId) {
-        Incident incident = findIncidentById(id);
-        User user = userRepository.findById(assigneeId)
+        User user = userDirectory.findById(assigneeId)
                 .orElseThrow(() -> new RuntimeException("User not found: " + assigneeId));
 
-        incident.setAssigneeId(user.getId());
-        incident.setAssigneeName(user.getUsername());
-        incident.setTeamId(Long.valueOf(user.getTeamId()));
-        incident.setTeamName(user.getTeamName());
-
-        Incident saved = incidentRepository.save(incident);
-        log.info("Incident {} assigned to {}", incident.getIncidentNumber(), user.getUsername());
+        if (incidentRepository.assign(id, user.getId(), user.getUsername(), Long.valueOf(user.getTeamId()),
+                user.getTeamName(), LocalDateTime.now()) == 0) {
+            throw new IncidentNotFoundException(id);
+        }
+        Incident saved = findIncidentById(id);
+        log.info("Incident {} assigned to {}", saved.getIncidentNumber(), user.getUsername());
 
         publishEvent("ASSIGNED", saved, null);
 
-        cacheService.evictFromCache(id);
-
-        return mapper.toResponse(saved);
+        return cacheResponse(saved);
     }
 
     @Transactional
     public IncidentResponse escalate(Long id) {
-        Incident incident = findIncidentById(id);
-        IncidentStatus previousStatus = incident.getStatus();
+        // The level is raised in the statement itself, so two escalations never collapse into one
+        StatusTransition transition = StatusTransition.to(IncidentStatus.ESCALATED)
+                .alsoFrom(IncidentStatus.ESCALATED)
+                .increment("escalationLevel")
+                .set("slaBreach", true);
 
-        incident.setStatus(IncidentStatus.ESCALATED);
-        incident.setEscalationLevel(incident.getEscalationLevel() + 1);
-        incident.setSlaBreach(true);
+        StatusTransition.Result result = applyTransition(id, transition);
+        log.warn("Incident {} escalated to level {}", result.incident().getIncidentNumber(),
+                result.incident().getEscalationLevel());
 
-        Incident saved = incidentRepository.save(incident);
-        log.warn("Incident {} escalated to level {}", incident.getIncidentNumber(), incident.getEscalationLevel());
+        publishEvent("ESCALATED", result.incident(), result.previousStatus());
 
-        publishEvent("ESCALATED", saved, previousStatus);
+        return cacheResponse(result.incident());
+    }
 
-        cacheService.evictFromCache(id);
+    @Transactional
+    public BulkOperationResponse acknowledgeAll(List<Long> ids, Long userId) {
+        User user = userId == null ? null : userDirectory.findById(userId).orElse(null);
+        return transitionAll(ids, IncidentStatus.ACKNOWLEDGED, "ACKNOWLEDGED", (validIds, now) -> {
+            incidentRepository.acknowledgeAll(validIds, now,
+                    user == null ? null : user.getId(), user == null ? null : user.getUsername());
+            return incident -> {
+                incident.setAcknowledgedAt(now);
+                if (user != null) {
+                    incident.setAssigneeId(user.getId());
+                    incident.setAssigneeName(user.getUsername());
+                }
+            };
+        });
+    }
 
-        return mapper.toResponse(saved);
+    @Transactional
+    public BulkOperationResponse resolveAll(List<Long> ids, String resolution) {
+        String note = resolution == null ? "" : "\n\nResolution: " + resolution;
+        return transitionAll(ids, IncidentStatus.RESOLVED, "RESOLVED", (validIds, now) -> {
+            incidentRepository.resolveAll(validIds, now, note);
+            return incident -> {
+                incident.setResolvedAt(now);
+                incident.setDescription(Objects.requireNonNullElse(incident.getDescription(), "") + note);
+            };
+        });
     }
 
-    private Incident findIncidentById(Long id) {
-        return incidentRepository.findById(id).orElseThrow(() -> new IncidentNotFoundException(id));
+    @Transactional
+    public BulkOperationResponse closeAll(List<Long> ids) {
+        return transitionAll(ids, IncidentStatus.CLOSED, "CLOSED", (validIds, now) -> {
+            incidentRepository.closeAll(validIds, now);
+            return incident -> incident.setClosedAt(now);
+        });
     }
 
-    private void validateTransition(IncidentStatus current, IncidentStatus next) {
-        if (!current.canTransitionTo(next)) {
-            throw new InvalidStatusTransitionException(current, next);
+    /**
+     * Locks the requested incidents, checks each transition, applies the valid ones with a single UPDATE,
+     * then writes all events to the outbox together and evicts the changed incidents in one Redis call.
+     * {@code update} runs the UPDATE and returns how to mirror it on the (detached) loaded entities.
+     */
+    private BulkOperationResponse transitionAll(List<Long> ids, IncidentStatus target, String eventType,
+                                                BiFunction<List<Long>, LocalDateTime, Consumer<Incident>> update) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " incidents can be changed at once");
+        }
+
+        Map<Long, Incident> found = incidentRepository.findAllByIdForUpdate(distinctIds).stream()
+                .collect(Collectors.toMap(Incident::getId, Function.identity()));
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        List<Incident> changing = new ArrayList<>();
+        Map<Long, IncidentStatus> previousStatuses = new HashMap<>();
+        int index = 0;
+        for (Long id : ids) {
+            Incident incident = found.get(id);
+            BulkItemResult.BulkItemResultBuilder result = BulkItemResult.builder().index(index++).incidentId(id);
+            if (incident == null) {
+                results.add(result.success(false).errors(List.of("Incident not found with id: " + id)).build());
+            } else if (previousStatuses.containsKey(id)) {
+                results.add(result.success(false).errors(List.of("Duplicate incident ID in request")).build());
+            } else if (!incident.getStatus().canTransitionTo(target)) {
+                results.add(result.success(false).incidentNumber(incident.getIncidentNumber()).status(incident.getStatus())
+                        .errors(List.of("Cannot transition from " + incident.getStatus() + " to " + target)).build());
+            } else {
+                previousStatuses.put(id, incident.getStatus());
+                changing.add(incident);
+                results.add(result.success(true).incidentNumber(incident.getIncidentNumber()).status(target).build());
+            }
+        }
+        if (changing.isEmpty()) {
+            return BulkOperationResponse.of(results);
         }
+
+        List<Long> changingIds = changing.stream().map(Incident::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        Consumer<Incident> applyInMemory = update.apply(changingIds, now);
+
+        List<IncidentEvent> events = new ArrayList<>(changing.size());
+        for (Incident incident : changing) {
+            incident.setStatus(target);
+            incident.setUpdatedAt(now);
+            applyInMemory.accept(incident);
+            events.add(buildEvent(eventType, incident, previousStatuses.get(incident.getId())));
+            activeIncidentView.applyAfterCommit(mapper.toResponse(incident));
+        }
+        outbox.addAll(events);
+        cacheService.evictAllAfterCommit(changingIds);
+        log.info("Bulk {}: {} of {} incidents changed", eventType, changing.size(), ids.size());
+
+        return BulkOperationResponse.of(results);
     }
 
-    private String generateIncidentNumber() {
-        String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        return String.format("INC-%s-%04d", date, counter.incrementAndGet());
+    private IncidentResponse cacheResponse(Incident saved) {
+        IncidentResponse response = mapper.toResponse(saved);
+        cacheService.updateAfterCommit(response);
+        activeIncidentView.applyAfterCommit(response);
+        return response;
+    }
+
+    private Incident findIncidentById(Long id) {
+        return incidentRepository.findById(id).orElseThrow(() -> new IncidentNotFoundException(id));
     }
 
-    private PagedResponse<IncidentResponse> buildPagedResponse(Page<Incident> page) {
-        return PagedResponse.<IncidentResponse>builder()
-                .content(page.getContent().stream().map(mapper::toResponse).toList())
+    // The status check and the update are one conditional statement, so two racing requests cannot both succeed.
+    // Only a rejected update reads the status, to tell a transition the status forbids (400) from a lost race (409).
+    private StatusTransition.Result applyTransition(Long id, StatusTransition transition) {
+        return incidentRepository.transition(id, transition).orElseThrow(() -> {
+            IncidentStatus current = incidentRepository.findStatusById(id)
+                    .orElseThrow(() -> new IncidentNotFoundException(id));
+            if (!transition.getAllowedFrom().contains(current)) {
+                return new InvalidStatusTransitionException(current, transition.getTarget());
+            }
+            return new IncidentConflictException(id, current, transition.getTarget());
+        });
+    }
+
+    private PagedResponse<IncidentSummary> buildPagedResponse(Page<IncidentSummary> page) {
+        return PagedResponse.<IncidentSummary>builder()
+                .content(page.getContent())
                 .page(page.getNumber())
                 .size(page.getSize())
                 .totalElements(page.getTotalElements())
@@ -272,18 +408,76 @@ public class IncidentService {
                 .build();
     }
 
+    private static IncidentFilter filter(IncidentStatus status, Severity severity, Long assigneeId, Long teamId) {
+        return IncidentFilter.builder().status(status).severity(severity).assigneeId(assigneeId).teamId(teamId).build();
+    }
+
+    private CursorPagedResponse<IncidentSummary> getPageAfter(IncidentFilter filter, String cursor, int size,
+                                                              boolean ascending, boolean includeTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        IncidentCursor after = IncidentCursor.decode(cursor);
+        if (after != null && after.isAscending() != ascending) {
+            throw new IllegalArgumentException("Cursor was issued for the opposite sort direction");
+        }
+
+        // One extra row tells us whether there is a next page without counting
+        List<IncidentSummary> rows = incidentRepository.findPageAfter(filter, after, ascending, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<IncidentSummary> page = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            IncidentSummary last = page.get(page.size() - 1);
+            nextCursor = new IncidentCursor(last.getCreatedAt(), last.getId(), ascending).encode();
+        }
+
+        return CursorPagedResponse.<IncidentSummary>builder()
+                .content(page)
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .estimatedTotal(includeTotal ? incidentRepository.estimateCount(filter) : null)
+                .build();
+    }
+
+    private Incident newIncident(CreateIncidentRequest request, User assignee) {
+        Incident incident = Incident.builder()
+                .incidentNumber(numberAllocator.next())
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .severity(request.getSeverity())
+                .status(IncidentStatus.TRIGGERED)
+                .teamId(request.getTeamId())
+                .build();
+
+        if (assignee != null) {
+            incident.setAssigneeId(assignee.getId());
+            incident.setAssigneeName(assignee.getUsername());
+            incident.setTeamId(Long.valueOf(assignee.getTeamId()));
+            incident.setTeamName(assignee.getTeamName());
+        }
+        return incident;
+    }
+
     private void publishEvent(String eventType, Incident incident, IncidentStatus previousStatus) {
-        IncidentEvent event = IncidentEvent.builder()
+        outbox.add(buildEvent(eventType, incident, previousStatus));
+    }
+
+    private IncidentEvent buildEvent(String eventType, Incident incident, IncidentStatus previousStatus) {
+        return IncidentEvent.builder()
                 .eventId(UUID.randomUUID().toString())
                 .eventType(eventType)
                 .incidentId(incident.getId())
                 .incidentNumber(incident.getIncidentNumber())
                 .title(incident.getTitle())
                 .severity(incident.getSeverity().name())
+                .teamId(incident.getTeamId())
+                .teamName(incident.getTeamName())
                 .previousStatus(previousStatus)
                 .newStatus(incident.getStatus())
                 .timestamp(LocalDateTime.now())
                 .build();
-        eventProducer.sendEvent(event);
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.incident.incidentservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.incident.incidentservice.entity.User;
+import com.incident.incidentservice.event.UserChangedEvent;
+import com.incident.incidentservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process user lookups by id and by username, so assigning incidents and authenticating requests
+ * do not query {@code users} every time. Unknown users are not cached; entries expire after
+ * {@code incident.users.cache.ttl}, which bounds how stale a change made on another node can be.
+ * <p>
+ * Cached users are shared between callers and must be treated as read-only.
+ */
+@Service
+@Slf4j
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, User> byId;
+    private final Cache<String, User> byUsername;
+
+    public UserDirectory(UserRepository userRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${incident.users.cache.max-size:10000}") long maxSize,
+                         @Value("${incident.users.cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.byUsername = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.by.id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "users.by.username");
+    }
+
+    public Optional<User> findById(Long id) {
+        User user = byId.get(id, key -> userRepository.findById(key).orElse(null));
+        if (user != null) {
+            byUsername.put(user.getUsername(), user);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    public Optional<User> findByUsername(String username) {
+        User user = byUsername.get(username, key -> userRepository.findByUsername(key).orElse(null));
+        if (user != null) {
+            byId.put(user.getId(), user);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * Looks up several users, loading the ones not cached with a single query.
+     * Ids that do not exist are absent from the returned map.
+     */
+    public Map<Long, User> findAllById(Collection<Long> ids) {
+        Map<Long, User> found = new HashMap<>(byId.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findAllById(missing)) {
+                byId.put(user.getId(), user);
+                byUsername.put(user.getUsername(), user);
+                found.put(user.getId(), user);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Drops a user from both indexes whenever it is created or changed.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            byId.invalidate(event.userId());
+        }
+        byUsername.invalidate(event.username());
+        log.debug("Evicted user {} from directory", event.username());
+    }
+
+    public void evictAll() {
+        byId.invalidateAll();
+        byUsername.invalidateAll();
+    }
+}
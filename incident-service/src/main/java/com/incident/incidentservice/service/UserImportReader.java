@@ -0,0 +1,195 @@
+package com.incident.incidentservice.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.incidentservice.dto.auth.RegisterRequest;
+import com.incident.incidentservice.enums.Role;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an import upload one record at a time, so a large file is never held in memory. JSON uploads
+ * are a top-level array of {@link RegisterRequest}s; CSV uploads start with a header naming the columns
+ * (username, email, password, role, teamId, teamName, phoneNumber in any order). A CSV line that cannot
+ * be parsed becomes a row with an error instead of ending the import.
+ */
+abstract class UserImportReader implements Iterator<UserImportReader.Row>, Closeable {
+
+    record Row(int index, RegisterRequest request, String error) {
+    }
+
+    static UserImportReader json(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return new Json(objectMapper.readerFor(RegisterRequest.class).readValues(in));
+    }
+
+    static UserImportReader csv(InputStream in) throws IOException {
+        return new Csv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
+
+    private static final class Json extends UserImportReader {
+
+        private final MappingIterator<RegisterRequest> values;
+        private int index;
+
+        Json(MappingIterator<RegisterRequest> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return values.hasNextValue();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Malformed JSON at record " + index + ": " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public Row next() {
+            try {
+                return new Row(index++, values.nextValue(), null);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Malformed JSON at record " + (index - 1) + ": " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            values.close();
+        }
+    }
+
+    private static final class Csv extends UserImportReader {
+
+        private final BufferedReader reader;
+        private final List<String> header;
+        private String nextLine;
+        private int index;
+
+        Csv(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String headerLine = readLine();
+            if (headerLine == null) {
+                throw new IllegalArgumentException("CSV upload is empty");
+            }
+            this.header = split(headerLine).stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            if (!header.contains("username") || !header.contains("email") || !header.contains("password")) {
+                throw new IllegalArgumentException("CSV header must name username, email and password columns");
+            }
+            this.nextLine = readLine();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLine != null;
+        }
+
+        @Override
+        public Row next() {
+            if (nextLine == null) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = readLine();
+            int row = index++;
+            try {
+                List<String> values = split(line);
+                if (values.size() != header.size()) {
+                    return new Row(row, null, "Expected " + header.size() + " columns but found " + values.size());
+                }
+                return new Row(row, toRequest(values), null);
+            } catch (IllegalArgumentException e) {
+                return new Row(row, null, e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private RegisterRequest toRequest(List<String> values) {
+            RegisterRequest request = new RegisterRequest();
+            for (int i = 0; i < header.size(); i++) {
+                String value = values.get(i).isBlank() ? null : values.get(i).trim();
+                switch (header.get(i)) {
+                    case "username" -> request.setUsername(value);
+                    case "email" -> request.setEmail(value);
+                    case "password" -> request.setPassword(values.get(i));
+                    case "role" -> request.setRole(value == null ? null : parseRole(value));
+                    case "teamid" -> request.setTeamId(value);
+                    case "teamname" -> request.setTeamName(value);
+                    case "phonenumber" -> request.setPhoneNumber(value);
+                    default -> {
+                        // Unknown columns are ignored
+                    }
+                }
+            }
+            return request;
+        }
+
+        private static Role parseRole(String value) {
+            try {
+                return Role.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown role: " + value);
+            }
+        }
+
+        // Skips blank lines
+        private String readLine() {
+            try {
+                String line;
+                do {
+                    line = reader.readLine();
+                } while (line != null && line.isBlank());
+                return line;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // RFC 4180 fields on a single line: commas separate, quotes wrap, doubled quotes escape
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
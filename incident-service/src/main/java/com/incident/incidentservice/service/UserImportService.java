@@ -0,0 +1,258 @@
+package com.incident.incidentservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.incidentservice.dto.auth.RegisterRequest;
+import com.incident.incidentservice.dto.auth.UserImportReport;
+import com.incident.incidentservice.dto.auth.UserImportRowResult;
+import com.incident.incidentservice.entity.User;
+import com.incident.incidentservice.enums.Role;
+import com.incident.incidentservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users in chunks: each chunk is checked against existing users with one query, its passwords
+ * are hashed in parallel, and it is inserted in JDBC batches within its own transaction. A failed chunk
+ * does not undo earlier ones. Unlike {@link AuthService#register}, no tokens are issued.
+ * <p>
+ * BCrypt is CPU-bound, so hashing runs on a private pool sized to the cores rather than on request
+ * threads; when its queue is full the calling thread hashes too.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor hashPool;
+    private final int chunkSize;
+    private final int maxRows;
+    private final Counter imported;
+    private final Timer hashTimer;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${incident.users.import.hash-threads:0}") int hashThreads,
+                             @Value("${incident.users.import.chunk-size:500}") int chunkSize,
+                             @Value("${incident.users.import.max-rows:10000}") int maxRows) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.imported = Counter.builder("users.import.created").register(meterRegistry);
+        this.hashTimer = Timer.builder("users.import.hash.chunk")
+                .description("Time to hash the passwords of one import chunk")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    public UserImportReport importJson(InputStream in) throws IOException {
+        try (UserImportReader reader = UserImportReader.json(in, objectMapper)) {
+            return importRows(reader);
+        }
+    }
+
+    public UserImportReport importCsv(InputStream in) throws IOException {
+        try (UserImportReader reader = UserImportReader.csv(in)) {
+            return importRows(reader);
+        }
+    }
+
+    UserImportReport importRows(UserImportReader reader) {
+        List<UserImportRowResult> results = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        int read = 0;
+        while (read < maxRows && reader.hasNext()) {
+            chunk.add(reader.next());
+            read++;
+            if (chunk.size() == chunkSize) {
+                results.addAll(importChunk(chunk, seenUsernames, seenEmails));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk, seenUsernames, seenEmails));
+        }
+        boolean truncated = reader.hasNext();
+
+        UserImportReport report = UserImportReport.of(results, truncated);
+        log.info("✅ Imported {} of {} users{}", report.getSucceeded(), report.getRequested(),
+                truncated ? " (stopped at the " + maxRows + " row limit)" : "");
+        return report;
+    }
+
+    private List<UserImportRowResult> importChunk(List<UserImportReader.Row> chunk,
+                                                  Set<String> seenUsernames, Set<String> seenEmails) {
+        UserImportRowResult[] results = new UserImportRowResult[chunk.size()];
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportReader.Row row = chunk.get(i);
+            List<String> errors = row.error() != null ? List.of(row.error()) : validate(row.request());
+            if (errors.isEmpty() && seenUsernames.contains(row.request().getUsername())) {
+                errors = List.of("Username appears earlier in the upload");
+            } else if (errors.isEmpty() && seenEmails.contains(row.request().getEmail())) {
+                errors = List.of("Email appears earlier in the upload");
+            }
+            if (errors.isEmpty()) {
+                seenUsernames.add(row.request().getUsername());
+                seenEmails.add(row.request().getEmail());
+                positions.add(i);
+            } else {
+                results[i] = failed(row, errors);
+            }
+        }
+
+        rejectExisting(chunk, positions, results);
+        if (!positions.isEmpty()) {
+            save(chunk, positions, results);
+        }
+        return List.of(results);
+    }
+
+    // One query for the whole chunk instead of existsByUsername + existsByEmail per row
+    private void rejectExisting(List<UserImportReader.Row> chunk, List<Integer> positions, UserImportRowResult[] results) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        List<RegisterRequest> candidates = positions.stream().map(i -> chunk.get(i).request()).toList();
+        List<User> existing = userRepository.findByUsernameInOrEmailIn(
+                candidates.stream().map(RegisterRequest::getUsername).toList(),
+                candidates.stream().map(RegisterRequest::getEmail).toList());
+        if (existing.isEmpty()) {
+            return;
+        }
+        Set<String> takenUsernames = existing.stream().map(User::getUsername).collect(Collectors.toSet());
+        Set<String> takenEmails = existing.stream().map(User::getEmail).collect(Collectors.toSet());
+        positions.removeIf(i -> {
+            RegisterRequest request = chunk.get(i).request();
+            List<String> errors = new ArrayList<>();
+            if (takenUsernames.contains(request.getUsername())) {
+                errors.add("Username already exists");
+            }
+            if (takenEmails.contains(request.getEmail())) {
+                errors.add("Email already exists");
+            }
+            if (errors.isEmpty()) {
+                return false;
+            }
+            results[i] = failed(chunk.get(i), errors);
+            return true;
+        });
+    }
+
+    private void save(List<UserImportReader.Row> chunk, List<Integer> positions, UserImportRowResult[] results) {
+        List<User> users = hashTimer.record(() -> hashAll(positions.stream().map(i -> chunk.get(i).request()).toList()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+        } catch (DataIntegrityViolationException e) {
+            // A user with the same name or email was created after the existence check
+            log.warn("Import chunk of {} users rejected: {}", users.size(), e.getMostSpecificCause().getMessage());
+            positions.forEach(i -> results[i] = failed(chunk.get(i),
+                    List.of("Conflicts with a user created during the import; retry this row")));
+            return;
+        }
+        for (int j = 0; j < positions.size(); j++) {
+            int i = positions.get(j);
+            User user = users.get(j);
+            results[i] = UserImportRowResult.builder()
+                    .row(chunk.get(i).index())
+                    .success(true)
+                    .userId(user.getId())
+                    .username(user.getUsername())
+                    .build();
+        }
+        imported.increment(users.size());
+    }
+
+    private List<User> hashAll(List<RegisterRequest> requests) {
+        List<CompletableFuture<User>> futures = requests.stream()
+                .map(request -> CompletableFuture.supplyAsync(() -> newUser(request), hashPool))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private User newUser(RegisterRequest request) {
+        return User.builder()
+                .username(request.getUsername())
+                .email(request.getEmail())
+                .password(passwordEncoder.encode(request.getPassword()))
+                .role(request.getRole() != null ? request.getRole() : Role.USER)
+                .teamId(request.getTeamId())
+                .teamName(request.getTeamName())
+                .phoneNumber(request.getPhoneNumber())
+                .build();
+    }
+
+    private static List<String> validate(RegisterRequest request) {
+        if (request == null) {
+            return List.of("Record is empty");
+        }
+        List<String> errors = new ArrayList<>();
+        if (request.getUsername() == null || request.getUsername().isBlank()) {
+            errors.add("Username is required");
+        }
+        if (request.getEmail() == null || !request.getEmail().contains("@")) {
+            errors.add("A valid email is required");
+        }
+        if (request.getPassword() == null || request.getPassword().isEmpty()) {
+            errors.add("Password is required");
+        }
+        return errors;
+    }
+
+    private static UserImportRowResult failed(UserImportReader.Row row, List<String> errors) {
+        return UserImportRowResult.builder()
+                .row(row.index())
+                .success(false)
+                .username(row.request() == null ? null : row.request().getUsername())
+                .errors(errors)
+                .build();
+    }
+}
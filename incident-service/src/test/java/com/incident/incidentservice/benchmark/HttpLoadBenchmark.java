@@ -0,0 +1,169 @@
+package com.incident.incidentservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load against a running incident-service, used to compare platform-thread and
+ * virtual-thread mode. Each client thread sends a request, waits for the reply and sends the next,
+ * so throughput and tail latency both show where the server starts queueing.
+ * <p>
+ * Start the service once with {@code VIRTUAL_THREADS=false} and once with {@code VIRTUAL_THREADS=true}
+ * (Java 21 build, {@code mvn -Pjava21}), then run against each:
+ * <pre>{@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.incident.incidentservice.benchmark.HttpLoadBenchmark \
+ *     -Dexec.args="--label=virtual --clients=800 --duration=60s"
+ * }</pre>
+ * Options (defaults in brackets): {@code --url} [http://localhost:8081], {@code --path}
+ * [/api/incidents?page=0&size=20], {@code --clients} [400], {@code --duration} [30s], {@code --warmup} [10s],
+ * {@code --username}/{@code --password} [admin/admin123] or {@code --token}, {@code --label} [run].
+ */
+public class HttpLoadBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        String token = options.token != null ? options.token : login(client, options);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.url + options.path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        System.out.printf("Warming up %s with %d clients for %ds%n", options.path, options.clients, options.warmup.toSeconds());
+        run(client, request, options.clients, options.warmup);
+        System.out.printf("Measuring for %ds%n", options.duration.toSeconds());
+        Result result = run(client, request, options.clients, options.duration);
+
+        double seconds = options.duration.toNanos() / 1e9;
+        System.out.printf("%-10s clients=%d requests=%d errors=%d throughput=%.1f req/s p50=%.1fms p99=%.1fms p999=%.1fms max=%.1fms%n",
+                options.label, options.clients, result.latencies.length, result.errors,
+                result.latencies.length / seconds,
+                result.percentile(0.50), result.percentile(0.99), result.percentile(0.999), result.percentile(1.0));
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<Result>> futures = new ArrayList<>(clients);
+        try {
+            for (int i = 0; i < clients; i++) {
+                futures.add(pool.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return new Result(Arrays.copyOf(latencies, count), errors);
+                }));
+            }
+            Result total = new Result(new long[0], 0);
+            for (Future<Result> future : futures) {
+                total = total.merge(future.get());
+            }
+            Arrays.sort(total.latencies);
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String login(HttpClient client, Options options) throws Exception {
+        String body = JSON.writeValueAsString(Map.of("username", options.username, "password", options.password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(options.url + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode token = JSON.readTree(response.body()).path("data").path("token");
+        if (response.statusCode() != 200 || token.isMissingNode()) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return token.asText();
+    }
+
+    private record Result(long[] latencies, long errors) {
+
+        Result merge(Result other) {
+            long[] merged = Arrays.copyOf(latencies, latencies.length + other.latencies.length);
+            System.arraycopy(other.latencies, 0, merged, latencies.length, other.latencies.length);
+            return new Result(merged, errors + other.errors);
+        }
+
+        // Expects sorted latencies; returns milliseconds
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static final class Options {
+        String url = "http://localhost:8081";
+        String path = "/api/incidents?page=0&size=20";
+        int clients = 400;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        String username = "admin";
+        String password = "admin123";
+        String token;
+        String label = "run";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                String value = pair.length > 1 ? pair[1] : "";
+                switch (pair[0]) {
+                    case "url" -> options.url = value;
+                    case "path" -> options.path = value;
+                    case "clients" -> options.clients = Integer.parseInt(value);
+                    case "duration" -> options.duration = Duration.parse("PT" + value.toUpperCase());
+                    case "warmup" -> options.warmup = Duration.parse("PT" + value.toUpperCase());
+                    case "username" -> options.username = value;
+                    case "password" -> options.password = value;
+                    case "token" -> options.token = value;
+                    case "label" -> options.label = value;
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            return options;
+        }
+    }
+}
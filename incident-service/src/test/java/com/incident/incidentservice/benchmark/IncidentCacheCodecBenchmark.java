@@ -0,0 +1,102 @@
+package com.incident.incidentservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.incident.incidentservice.cache.IncidentResponseSerializer;
+import com.incident.incidentservice.dto.IncidentResponse;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary incident codec with the JSON path it replaced
+ * (GenericJackson2JsonRedisSerializer + ObjectMapper.convertValue).
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.incident.incidentservice.benchmark.IncidentCacheCodecBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncidentCacheCodecBenchmark {
+
+    private IncidentResponse incident;
+    private ObjectMapper objectMapper;
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private IncidentResponseSerializer binarySerializer;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        incident = sampleIncident();
+
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        binarySerializer = new IncidentResponseSerializer();
+
+        jsonBytes = jsonSerializer.serialize(incident);
+        binaryBytes = binarySerializer.serialize(incident);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return jsonSerializer.serialize(incident);
+    }
+
+    @Benchmark
+    public IncidentResponse jsonDecode() {
+        return objectMapper.convertValue(jsonSerializer.deserialize(jsonBytes), IncidentResponse.class);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binarySerializer.serialize(incident);
+    }
+
+    @Benchmark
+    public IncidentResponse binaryDecode() {
+        return binarySerializer.deserialize(binaryBytes);
+    }
+
+    static IncidentResponse sampleIncident() {
+        return IncidentResponse.builder()
+                .id(18_342L)
+                .incidentNumber("INC-20240315-18342")
+                .title("Checkout API p99 latency above 2s")
+                .description("Alert from monitoring: checkout-api p99 latency breached 2000ms for 5 minutes.")
+                .severity(Severity.P1)
+                .status(IncidentStatus.ACKNOWLEDGED)
+                .assigneeId(12L)
+                .assigneeName("oncall-payments")
+                .teamId(4L)
+                .teamName("Payments")
+                .escalationLevel(1)
+                .slaBreach(false)
+                .createdAt(LocalDateTime.of(2024, 3, 15, 2, 14, 7))
+                .acknowledgedAt(LocalDateTime.of(2024, 3, 15, 2, 17, 45))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        IncidentCacheCodecBenchmark sizes = new IncidentCacheCodecBenchmark();
+        sizes.setUp();
+        System.out.printf("Bytes per entry: json=%d binary=%d%n", sizes.jsonBytes.length, sizes.binaryBytes.length);
+
+        new Runner(new OptionsBuilder()
+                .include(IncidentCacheCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.incident.incidentservice.cache;
+
+import com.incident.incidentservice.dto.IncidentResponse;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IncidentResponseSerializerTest {
+
+    private final IncidentResponseSerializer serializer = new IncidentResponseSerializer();
+
+    @Test
+    void roundTrip_AllFields() {
+        IncidentResponse incident = IncidentResponse.builder()
+                .id(42L)
+                .incidentNumber("INC-20240101-0042")
+                .title("Database down — primärer Knoten")
+                .description("Replica lag > 30s\n\nResolution: failover")
+                .severity(Severity.P1)
+                .status(IncidentStatus.ESCALATED)
+                .assigneeId(7L)
+                .assigneeName("alice")
+                .teamId(3L)
+                .teamName("Platform")
+                .escalationLevel(2)
+                .slaBreach(true)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 15, 30, 123_000_000))
+                .acknowledgedAt(LocalDateTime.of(2024, 1, 1, 10, 20))
+                .resolvedAt(LocalDateTime.of(2024, 1, 1, 11, 0))
+                .closedAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .version(5)
+                .build();
+
+        IncidentResponse decoded = serializer.deserialize(serializer.serialize(incident));
+
+        assertThat(decoded).isEqualTo(incident);
+    }
+
+    @Test
+    void roundTrip_NullFields() {
+        IncidentResponse incident = IncidentResponse.builder()
+                .id(1L)
+                .title("Minimal")
+                .severity(Severity.P4)
+                .status(IncidentStatus.TRIGGERED)
+                .build();
+
+        IncidentResponse decoded = serializer.deserialize(serializer.serialize(incident));
+
+        assertThat(decoded).isEqualTo(incident);
+        assertThat(decoded.getDescription()).isNull();
+        assertThat(decoded.getCreatedAt()).isNull();
+    }
+
+    @Test
+    void deserialize_LegacyJsonIsTreatedAsMiss() {
+        byte[] legacy = "{\"id\":1,\"title\":\"x\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(serializer.deserialize(legacy)).isNull();
+    }
+}
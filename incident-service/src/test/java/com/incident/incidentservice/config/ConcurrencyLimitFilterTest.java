@@ -0,0 +1,70 @@
+package com.incident.incidentservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            meterRegistry, new ObjectMapper().registerModule(new JavaTimeModule()), 1, Duration.ofMillis(50));
+
+    @Test
+    void rejectsApiRequestsOverTheLimitWith503() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = pool.submit(() -> {
+                filter.doFilter(get("/api/incidents"), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return null;
+            });
+            entered.await();
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(get("/api/incidents"), rejected, new MockFilterChain());
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(rejected.getContentAsString()).contains("Server is busy");
+
+            MockHttpServletResponse health = new MockHttpServletResponse();
+            filter.doFilter(get("/actuator/health"), health, new MockFilterChain());
+            assertThat(health.getStatus()).isEqualTo(200);
+
+            release.countDown();
+            first.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        MockHttpServletResponse afterRelease = new MockHttpServletResponse();
+        filter.doFilter(get("/api/incidents"), afterRelease, new MockFilterChain());
+        assertThat(afterRelease.getStatus()).isEqualTo(200);
+        assertThat(filter.inFlight()).isZero();
+        assertThat(meterRegistry.get("incident.http.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,27 @@
+package com.incident.incidentservice.config;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class KafkaConfigTest {
+
+    @Test
+    void cacheInvalidationErrorHandler_SkipsUndeserializableRecordsWithoutRetrying() {
+        DefaultErrorHandler handler = KafkaConfig.cacheInvalidationErrorHandler();
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("incident-event", 0, 42L, "INC-1", "not json");
+        Exception failure = new ListenerExecutionFailedException("listener failed",
+                new DeserializationException("bad payload", new byte[0], false, new IllegalArgumentException()));
+
+        boolean skipped = handler.handleOne(failure, record, mock(Consumer.class), mock(MessageListenerContainer.class));
+
+        assertThat(skipped).isTrue();
+    }
+}
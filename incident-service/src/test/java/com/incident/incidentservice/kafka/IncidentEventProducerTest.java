@@ -0,0 +1,46 @@
+package com.incident.incidentservice.kafka;
+
+import com.incident.incidentservice.event.IncidentEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IncidentEventProducerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendEvent_RejectsWhenInFlightLimitIsReachedAndRecordsLatencyPerType() {
+        KafkaTemplate<String, IncidentEvent> kafkaTemplate = mock(KafkaTemplate.class);
+        CompletableFuture<SendResult<String, IncidentEvent>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(pending);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IncidentEventProducer producer = new IncidentEventProducer(kafkaTemplate, registry, 1, Duration.ofMillis(10));
+
+        CompletableFuture<?> first = producer.sendEvent(event("CREATED"));
+        CompletableFuture<?> second = producer.sendEvent(event("CREATED"));
+
+        assertThat(second).isCompletedExceptionally();
+        assertThat(producer.inFlight()).isEqualTo(1);
+        verify(kafkaTemplate, times(1)).send(anyString(), any(), any());
+
+        pending.complete(null);
+
+        assertThat(first).isCompleted();
+        assertThat(producer.inFlight()).isZero();
+        assertThat(registry.get("incident.events.send").tags("eventType", "CREATED", "outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("incident.events.send.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private static IncidentEvent event(String type) {
+        return IncidentEvent.builder().eventType(type).incidentNumber("INC-1").build();
+    }
+}
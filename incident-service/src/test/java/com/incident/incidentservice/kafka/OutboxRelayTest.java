@@ -0,0 +1,164 @@
+package com.incident.incidentservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.incidentservice.entity.OutboxEvent;
+import com.incident.incidentservice.event.IncidentEvent;
+import com.incident.incidentservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// The relay manages its own transactions
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void relay_HoldsBackOnlyTheFailedIncidentsLaterEvents() throws Exception {
+        for (String number : List.of("INC-1", "INC-2", "INC-3", "INC-2", "INC-4")) {
+            save(number, objectMapper.writeValueAsString(IncidentEvent.builder().incidentNumber(number).build()));
+        }
+
+        List<String> sent = new ArrayList<>();
+        IncidentEventProducer producer = mock(IncidentEventProducer.class);
+        when(producer.sendEvent(any())).thenAnswer(invocation -> {
+            String number = invocation.<IncidentEvent>getArgument(0).getIncidentNumber();
+            sent.add(number);
+            return number.equals("INC-2")
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"))
+                    : CompletableFuture.completedFuture(null);
+        });
+
+        relay(producer);
+
+        // The second INC-2 event is never handed to the producer, so a retry cannot overtake it
+        assertThat(sent).containsExactly("INC-1", "INC-2", "INC-3", "INC-4");
+        assertThat(outboxRepository.findAll())
+                .allSatisfy(event -> assertThat(event.getClaimedBy()).isNull())
+                .extracting(OutboxEvent::getMessageKey).containsExactly("INC-2", "INC-2");
+    }
+
+    @Test
+    void relay_SendsAnIncidentsEventsOneAfterAnother() throws Exception {
+        for (String type : List.of("CREATED", "STATUS_CHANGED", "RESOLVED")) {
+            save("INC-1", objectMapper.writeValueAsString(IncidentEvent.builder().incidentNumber("INC-1").eventType(type).build()));
+        }
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        IncidentEventProducer producer = mock(IncidentEventProducer.class);
+        when(producer.sendEvent(any())).thenAnswer(invocation -> {
+            // Nothing earlier for this incident may still be waiting for its ack
+            assertThat(acks).allMatch(CompletableFuture::isDone);
+            CompletableFuture<Void> ack = new CompletableFuture<>();
+            acks.add(ack);
+            CompletableFuture.runAsync(() -> ack.complete(null));
+            return ack;
+        });
+
+        relay(producer);
+
+        assertThat(acks).hasSize(3);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void relay_HoldsNoRowLockWhileWaitingForTheBroker() throws Exception {
+        save("INC-1", objectMapper.writeValueAsString(IncidentEvent.builder().incidentNumber("INC-1").build()));
+
+        TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+        otherTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        List<OutboxEvent> seenDuringSend = new ArrayList<>();
+        IncidentEventProducer producer = mock(IncidentEventProducer.class);
+        when(producer.sendEvent(any())).thenAnswer(invocation -> {
+            seenDuringSend.addAll(otherTransaction.execute(status ->
+                    outboxRepository.findBatchForUpdate(PageRequest.of(0, 10))));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        relay(producer);
+
+        assertThat(seenDuringSend).singleElement()
+                .satisfies(event -> assertThat(event.getClaimedUntil()).isAfter(LocalDateTime.now()));
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void relay_LeavesEventsClaimedByAnotherRelayAlone() throws Exception {
+        OutboxEvent claimed = save("INC-1", objectMapper.writeValueAsString(IncidentEvent.builder().incidentNumber("INC-1").build()));
+        claimed.setClaimedBy("other-node");
+        claimed.setClaimedUntil(LocalDateTime.now().plusMinutes(1));
+        outboxRepository.save(claimed);
+        save("INC-2", objectMapper.writeValueAsString(IncidentEvent.builder().incidentNumber("INC-2").build()));
+
+        IncidentEventProducer producer = mock(IncidentEventProducer.class);
+        relay(producer);
+
+        verifyNoInteractions(producer);
+        assertThat(outboxRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void relay_ParksUnreadablePayloadsAndMovesOn() throws Exception {
+        save("INC-1", "{not json");
+        save("INC-2", objectMapper.writeValueAsString(IncidentEvent.builder().incidentNumber("INC-2").build()));
+
+        List<String> sent = new ArrayList<>();
+        IncidentEventProducer producer = mock(IncidentEventProducer.class);
+        when(producer.sendEvent(any())).thenAnswer(invocation -> {
+            sent.add(invocation.<IncidentEvent>getArgument(0).getIncidentNumber());
+            return CompletableFuture.completedFuture(null);
+        });
+
+        relay(producer);
+        relay(producer);
+
+        assertThat(sent).containsExactly("INC-2");
+        assertThat(outboxRepository.findAll()).singleElement().satisfies(event -> {
+            assertThat(event.getMessageKey()).isEqualTo("INC-1");
+            assertThat(event.getParkedAt()).isNotNull();
+            assertThat(event.getParkReason()).isNotBlank();
+        });
+    }
+
+    private OutboxEvent save(String number, String payload) {
+        return outboxRepository.save(OutboxEvent.builder()
+                .messageKey(number)
+                .eventType("CREATED")
+                .payload(payload)
+                .build());
+    }
+
+    private void relay(IncidentEventProducer producer) {
+        new OutboxRelay(outboxRepository, producer, objectMapper, transactionManager,
+                new SimpleMeterRegistry(), 10, Duration.ofSeconds(1)).relay();
+    }
+}
@@ -0,0 +1,123 @@
+package com.incident.incidentservice.repository;
+
+import com.incident.incidentservice.dto.IncidentCursor;
+import com.incident.incidentservice.entity.Incident;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the shape of the SQL the incident list queries generate: each filter only puts the
+ * leading columns of one of the composite indexes declared on {@link Incident} in its WHERE
+ * clause, with no {@code ? is null} branches.
+ * <p>
+ * This runs on H2, whose planner says nothing about what Postgres will choose, so it does not
+ * EXPLAIN anything; whether Postgres actually uses these indexes has to be checked against a
+ * Postgres instance with production-like data.
+ */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.incident.incidentservice.repository.SqlCapture")
+class IncidentQueryPlanTest {
+
+    private static final PageRequest NEWEST_FIRST = PageRequest.of(0, 20, Sort.by("createdAt").descending());
+    private static final Pattern WHERE = Pattern.compile(" where (.*?)(?: order by | offset | fetch |$)");
+    private static final Pattern COLUMN = Pattern.compile("\\w+\\.(\\w+)\\s*(?:=|<|>)");
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.clear();
+    }
+
+    @Test
+    void statusFilter_MatchesStatusCreatedAtIndex() {
+        incidentRepository.findByFilter(IncidentFilter.builder().status(IncidentStatus.TRIGGERED).build(), NEWEST_FIRST);
+
+        String sql = SqlCapture.lastSelectFrom("incidents");
+        assertThat(sql).doesNotContainIgnoringCase("is null").doesNotContainIgnoringCase("description");
+        assertThat(filteredColumns(sql)).containsExactly("status");
+        assertThat(indexColumns("idx_incidents_status_created_at")).startsWith("status", "created_at");
+    }
+
+    @Test
+    void severityFilter_MatchesSeverityCreatedAtIndex() {
+        incidentRepository.findByFilter(IncidentFilter.builder().severity(Severity.P1).build(), NEWEST_FIRST);
+
+        String sql = SqlCapture.lastSelectFrom("incidents");
+        assertThat(sql).doesNotContainIgnoringCase("is null");
+        assertThat(filteredColumns(sql)).containsExactly("severity");
+        assertThat(indexColumns("idx_incidents_severity_created_at")).startsWith("severity", "created_at");
+    }
+
+    @Test
+    void assigneeAndStatusFilter_MatchesAssigneeStatusIndex() {
+        incidentRepository.findByFilter(
+                IncidentFilter.builder().status(IncidentStatus.ACKNOWLEDGED).assigneeId(3L).build(), NEWEST_FIRST);
+
+        String sql = SqlCapture.lastSelectFrom("incidents");
+        assertThat(sql).doesNotContainIgnoringCase("is null");
+        assertThat(filteredColumns(sql)).containsExactlyInAnyOrder("assignee_id", "status");
+        assertThat(indexColumns("idx_incidents_assignee_status")).containsExactly("assignee_id", "status");
+    }
+
+    @Test
+    void teamAndStatusFilter_MatchesTeamStatusIndex() {
+        incidentRepository.findByFilter(
+                IncidentFilter.builder().status(IncidentStatus.ESCALATED).teamId(2L).build(), NEWEST_FIRST);
+
+        String sql = SqlCapture.lastSelectFrom("incidents");
+        assertThat(sql).doesNotContainIgnoringCase("is null");
+        assertThat(filteredColumns(sql)).containsExactlyInAnyOrder("team_id", "status");
+        assertThat(indexColumns("idx_incidents_team_status")).containsExactly("team_id", "status");
+    }
+
+    @Test
+    void unfilteredKeysetPage_MatchesCreatedAtIdIndex() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        incidentRepository.findPageAfter(IncidentFilter.none(), new IncidentCursor(createdAt, 100L, false), false, 21);
+
+        String sql = SqlCapture.lastSelectFrom("incidents");
+        assertThat(sql).doesNotContainIgnoringCase("offset");
+        assertThat(filteredColumns(sql)).containsOnly("created_at", "id");
+        assertThat(indexColumns("idx_incidents_created_at_id")).containsExactly("created_at", "id");
+    }
+
+    // The columns compared in the WHERE clause, in order of appearance
+    private static List<String> filteredColumns(String sql) {
+        Matcher where = WHERE.matcher(sql.toLowerCase(Locale.ROOT));
+        assertThat(where.find()).as("where clause in %s", sql).isTrue();
+        Matcher column = COLUMN.matcher(where.group(1));
+        List<String> columns = new ArrayList<>();
+        while (column.find()) {
+            columns.add(column.group(1));
+        }
+        return columns;
+    }
+
+    private static List<String> indexColumns(String name) {
+        Index index = Arrays.stream(Incident.class.getAnnotation(Table.class).indexes())
+                .filter(candidate -> candidate.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No index " + name + " declared on incidents"));
+        return Arrays.stream(index.columnList().split(",")).map(String::trim).toList();
+    }
+}
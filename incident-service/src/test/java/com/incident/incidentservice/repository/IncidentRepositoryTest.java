@@ -0,0 +1,86 @@
+package com.incident.incidentservice.repository;
+
+import com.incident.incidentservice.dto.IncidentCursor;
+import com.incident.incidentservice.dto.IncidentSummary;
+import com.incident.incidentservice.entity.Incident;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+class IncidentRepositoryTest {
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Incident> incidents = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            incidents.add(Incident.builder()
+                    .incidentNumber("INC-" + i)
+                    .title("Incident " + i)
+                    .severity(i % 2 == 0 ? Severity.P1 : Severity.P3)
+                    .status(IncidentStatus.TRIGGERED)
+                    .build());
+        }
+        incidentRepository.saveAllAndFlush(incidents);
+        // Force ties on createdAt so the id tiebreaker is exercised
+        LocalDateTime same = LocalDateTime.of(2024, 1, 1, 12, 0);
+        incidentRepository.findAll().forEach(incident -> incident.setCreatedAt(same));
+        incidentRepository.flush();
+    }
+
+    @Test
+    void findPageAfter_WalksAllRowsOnceInOrder() {
+        List<Long> seen = new ArrayList<>();
+        IncidentCursor cursor = null;
+        do {
+            List<IncidentSummary> page = incidentRepository.findPageAfter(IncidentFilter.none(), cursor, false, 3);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(incident -> seen.add(incident.getId()));
+            IncidentSummary last = page.get(page.size() - 1);
+            cursor = new IncidentCursor(last.getCreatedAt(), last.getId(), false);
+        } while (true);
+
+        List<Long> expected = incidentRepository.findAll().stream().map(Incident::getId)
+                .sorted((a, b) -> Long.compare(b, a)).toList();
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void findPageAfter_AppliesOnlyPresentFilters() {
+        IncidentFilter p1 = IncidentFilter.builder().severity(Severity.P1).build();
+
+        List<IncidentSummary> page = incidentRepository.findPageAfter(p1, null, true, 10);
+
+        assertThat(page).hasSize(3).allMatch(incident -> incident.getSeverity() == Severity.P1);
+        assertThat(incidentRepository.estimateCount(p1)).isEqualTo(3);
+    }
+
+    @Test
+    void resolveAll_SetsStatusAndAppendsNoteToEmptyDescriptions() {
+        List<Long> ids = incidentRepository.findAll().stream().map(Incident::getId).limit(2).toList();
+        LocalDateTime now = LocalDateTime.of(2024, 1, 2, 8, 0);
+
+        int updated = incidentRepository.resolveAll(ids, now, "\n\nResolution: restarted");
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(incidentRepository.findAllById(ids)).allSatisfy(incident -> {
+            assertThat(incident.getStatus()).isEqualTo(IncidentStatus.RESOLVED);
+            assertThat(incident.getResolvedAt()).isEqualTo(now);
+            assertThat(incident.getDescription()).isEqualTo("\n\nResolution: restarted");
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.incident.incidentservice.repository;
+
+import com.incident.incidentservice.entity.Incident;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Every thread needs its own committed transaction, so the test-managed rollback is turned off
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IncidentTransitionConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private IncidentRepository incidentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        incidentRepository.deleteAll();
+    }
+
+    @Test
+    void racingAcknowledges_OnlyOneWins() throws Exception {
+        Long id = incidentRepository.save(newIncident()).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    tx.execute(status -> incidentRepository.transition(id, StatusTransition.to(IncidentStatus.ACKNOWLEDGED)))
+                            .ifPresent(result -> {
+                                assertThat(result.previousStatus()).isEqualTo(IncidentStatus.TRIGGERED);
+                                wins.incrementAndGet();
+                            });
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Incident incident = incidentRepository.findById(id).orElseThrow();
+        assertThat(wins).hasValue(1);
+        assertThat(incident.getStatus()).isEqualTo(IncidentStatus.ACKNOWLEDGED);
+        assertThat(incident.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void transition_RejectsStatusesThatAreNotPredecessors() {
+        Long id = incidentRepository.save(newIncident()).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Optional<StatusTransition.Result> result =
+                tx.execute(status -> incidentRepository.transition(id, StatusTransition.to(IncidentStatus.CLOSED)));
+
+        assertThat(result).isEmpty();
+        assertThat(incidentRepository.findStatusById(id)).contains(IncidentStatus.TRIGGERED);
+    }
+
+    @Test
+    void transition_IncrementsInTheStatementAndReportsTheReplacedStatus() {
+        Long id = incidentRepository.save(newIncident()).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        for (IncidentStatus expectedPrevious : List.of(IncidentStatus.TRIGGERED, IncidentStatus.ESCALATED)) {
+            StatusTransition.Result result = tx.execute(status -> incidentRepository.transition(id,
+                    StatusTransition.to(IncidentStatus.ESCALATED).alsoFrom(IncidentStatus.ESCALATED)
+                            .increment("escalationLevel").set("slaBreach", true))).orElseThrow();
+            assertThat(result.previousStatus()).isEqualTo(expectedPrevious);
+        }
+
+        Incident incident = incidentRepository.findById(id).orElseThrow();
+        assertThat(incident.getEscalationLevel()).isEqualTo(2);
+        assertThat(incident.isSlaBreach()).isTrue();
+        assertThat(incident.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void staleSave_FailsWithOptimisticLock() {
+        Long id = incidentRepository.save(newIncident()).getId();
+        Incident first = incidentRepository.findById(id).orElseThrow();
+        Incident second = incidentRepository.findById(id).orElseThrow();
+
+        first.setTitle("First edit");
+        incidentRepository.save(first);
+        second.setTitle("Second edit");
+
+        assertThatThrownBy(() -> incidentRepository.save(second))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    private static Incident newIncident() {
+        return Incident.builder()
+                .incidentNumber("INC-RACE-" + System.nanoTime())
+                .title("Database down")
+                .severity(Severity.P1)
+                .status(IncidentStatus.TRIGGERED)
+                .build();
+    }
+}
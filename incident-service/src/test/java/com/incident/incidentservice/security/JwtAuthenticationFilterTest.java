@@ -0,0 +1,99 @@
+package com.incident.incidentservice.security;
+
+import com.incident.incidentservice.entity.User;
+import com.incident.incidentservice.enums.Role;
+import com.incident.incidentservice.event.UserChangedEvent;
+import com.incident.incidentservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationWhichIsVeryLongAndSecure123456789";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60_000, 100, new SimpleMeterRegistry());
+    private UserDetailsService userDetailsService;
+    private UserRepository userRepository;
+    private DisabledUserList disabledUsers;
+    private JwtAuthenticationFilter filter;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsService.class);
+        userRepository = mock(UserRepository.class);
+        disabledUsers = new DisabledUserList(userRepository, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, disabledUsers);
+        alice = User.builder().id(7L).username("alice").email("alice@example.com").password("secret")
+                .role(Role.ADMIN).teamId("3").teamName("Platform").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void buildsPrincipalFromClaimsWithoutLoadingTheUser() throws Exception {
+        Authentication authentication = authenticate(jwtService.generateToken(alice));
+
+        assertThat(authentication).isNotNull();
+        User principal = (User) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("alice");
+        assertThat(principal.getTeamName()).isEqualTo("Platform");
+        assertThat(principal.getPassword()).isNull();
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void fallsBackToUserLookupForTokensWithoutIdClaims() throws Exception {
+        String legacyToken = jwtService.generateToken(Map.of(), alice);
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(alice);
+
+        assertThat(authenticate(legacyToken)).isNotNull();
+        verify(userDetailsService).loadUserByUsername("alice");
+    }
+
+    @Test
+    void rejectsTokensOfDisabledUsers() throws Exception {
+        String token = jwtService.generateToken(alice);
+
+        disabledUsers.onUserChanged(new UserChangedEvent(7L, "alice", false));
+        assertThat(authenticate(token)).isNull();
+
+        disabledUsers.onUserChanged(new UserChangedEvent(7L, "alice", true));
+        assertThat(authenticate(token)).isNotNull();
+    }
+
+    @Test
+    void refreshPicksUpUsersDisabledElsewhere() throws Exception {
+        when(userRepository.findDisabledIds()).thenReturn(List.of(7L));
+        disabledUsers.refresh();
+
+        assertThat(authenticate(jwtService.generateToken(alice))).isNull();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/incidents");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,72 @@
+package com.incident.incidentservice.security;
+
+import com.incident.incidentservice.entity.User;
+import com.incident.incidentservice.enums.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationWhichIsVeryLongAndSecure123456789";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService(SECRET, 60_000, 100, meterRegistry);
+    private final User alice = User.builder().username("alice").role(Role.USER).build();
+
+    @Test
+    void validate_VerifiesOnceAndServesRepeatsFromCache() {
+        String token = jwtService.generateToken(alice);
+
+        assertThat(jwtService.validate(token).getSubject()).isEqualTo("alice");
+        assertThat(jwtService.isTokenValid(token, alice)).isTrue();
+        assertThat(jwtService.extractUsername(token)).isEqualTo("alice");
+
+        assertThat(cacheGets("miss")).isEqualTo(1.0);
+        assertThat(cacheGets("hit")).isEqualTo(2.0);
+    }
+
+    @Test
+    void validate_RejectsTamperedTokensWithoutCachingThem() {
+        String token = jwtService.generateToken(alice);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.validate(tampered)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtService.validate(tampered)).isInstanceOf(SignatureException.class);
+        assertThat(cacheGets("hit")).isZero();
+    }
+
+    @Test
+    void validate_RejectsExpiredTokens() {
+        JwtService expired = new JwtService(SECRET, -1_000, 100, new SimpleMeterRegistry());
+        String token = expired.generateToken(alice);
+
+        assertThatThrownBy(() -> jwtService.validate(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void validate_RejectsTokensSignedWithAnotherKey() {
+        JwtService other = new JwtService(SECRET.replace('m', 'n'), 60_000, 100, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> jwtService.validate(other.generateToken(alice))).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void generateToken_CarriesIdRoleAndTeamClaims() {
+        User bob = User.builder().id(9L).username("bob").role(Role.VIEWER).teamId("2").teamName("Payments").build();
+
+        User principal = jwtService.principalFrom(jwtService.validate(jwtService.generateToken(bob)));
+
+        assertThat(principal.getId()).isEqualTo(9L);
+        assertThat(principal.getRole()).isEqualTo(Role.VIEWER);
+        assertThat(principal.getTeamId()).isEqualTo("2");
+        assertThat(principal.getTeamName()).isEqualTo("Payments");
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", result).functionCounter().count();
+    }
+}
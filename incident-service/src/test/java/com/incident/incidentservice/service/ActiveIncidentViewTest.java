@@ -0,0 +1,134 @@
+package com.incident.incidentservice.service;
+
+import com.incident.incidentservice.dto.ActiveIncidentConsistencyReport;
+import com.incident.incidentservice.dto.IncidentResponse;
+import com.incident.incidentservice.dto.IncidentSummary;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import com.incident.incidentservice.mapper.IncidentMapper;
+import com.incident.incidentservice.repository.IncidentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ActiveIncidentViewTest {
+
+    private IncidentRepository incidentRepository;
+    private ActiveIncidentView view;
+
+    @BeforeEach
+    void setUp() {
+        incidentRepository = mock(IncidentRepository.class);
+        view = new ActiveIncidentView(incidentRepository, new IncidentMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getActive_ServesFromMemoryAfterSeed() {
+        when(incidentRepository.findSummariesByStatusIn(any())).thenReturn(List.of(
+                incident(1L, IncidentStatus.TRIGGERED, 1), incident(2L, IncidentStatus.ACKNOWLEDGED, 2)));
+        view.seed();
+        clearInvocations(incidentRepository);
+
+        assertThat(view.getActive()).extracting(IncidentSummary::getId).containsExactly(2L, 1L);
+
+        view.apply(response(1L, IncidentStatus.RESOLVED));
+
+        assertThat(view.getActive()).extracting(IncidentSummary::getId).containsExactly(2L);
+        verifyNoInteractions(incidentRepository);
+    }
+
+    @Test
+    void check_ReportsMissingStaleAndExtraEntries() {
+        when(incidentRepository.findSummariesByStatusIn(any())).thenReturn(List.of(
+                incident(1L, IncidentStatus.TRIGGERED, 1), incident(2L, IncidentStatus.TRIGGERED, 2)));
+        view.seed();
+
+        view.apply(response(2L, IncidentStatus.ACKNOWLEDGED));
+        view.apply(response(3L, IncidentStatus.ESCALATED));
+        view.remove(1L);
+
+        ActiveIncidentConsistencyReport report = view.check();
+
+        assertThat(report.isConsistent()).isFalse();
+        assertThat(report.getMissing()).containsExactly(1L);
+        assertThat(report.getStale()).containsExactly(2L);
+        assertThat(report.getExtra()).containsExactly(3L);
+
+        assertThat(view.resync().isConsistent()).isFalse();
+        assertThat(view.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    void seed_KeepsChangesAppliedWhileTheSnapshotWasLoading() {
+        when(incidentRepository.findSummariesByStatusIn(any())).thenAnswer(invocation -> {
+            // Events arrive after the database read but before the seed applies it
+            view.apply(response(1L, IncidentStatus.RESOLVED));
+            view.apply(response(2L, IncidentStatus.ESCALATED));
+            view.apply(response(3L, IncidentStatus.TRIGGERED));
+            return List.of(incident(1L, IncidentStatus.TRIGGERED, 1), incident(2L, IncidentStatus.TRIGGERED, 2));
+        });
+
+        view.seed();
+
+        assertThat(view.getActive()).extracting(IncidentSummary::getId).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(view.getActive()).filteredOn(summary -> summary.getId() == 2L)
+                .extracting(IncidentSummary::getStatus).containsExactly(IncidentStatus.ESCALATED);
+    }
+
+    @Test
+    void getActive_DoesNotKeepAListBuiltBeforeAConcurrentChange() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch changed = new CountDownLatch(1);
+        AtomicBoolean hold = new AtomicBoolean();
+        // Sorting reads createdAt, so the first read parks the reader in the middle of its rebuild
+        IncidentSummary slow = spy(incident(1L, IncidentStatus.TRIGGERED, 1));
+        doAnswer(invocation -> {
+            if (hold.compareAndSet(true, false)) {
+                building.countDown();
+                changed.await(5, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(slow).getCreatedAt();
+        when(incidentRepository.findSummariesByStatusIn(any()))
+                .thenReturn(List.of(slow, incident(2L, IncidentStatus.TRIGGERED, 2)));
+        view.seed();
+
+        hold.set(true);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<IncidentSummary>> read = reader.submit(view::getActive);
+            assertThat(building.await(5, TimeUnit.SECONDS)).isTrue();
+            view.apply(response(2L, IncidentStatus.RESOLVED));
+            changed.countDown();
+            read.get(5, TimeUnit.SECONDS);
+        } finally {
+            reader.shutdownNow();
+        }
+
+        assertThat(view.getActive()).extracting(IncidentSummary::getId).containsExactly(1L);
+    }
+
+    private static IncidentSummary incident(Long id, IncidentStatus status, int minute) {
+        return IncidentSummary.builder()
+                .id(id).title("Incident " + id).severity(Severity.P2).status(status)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, minute))
+                .build();
+    }
+
+    private static IncidentResponse response(Long id, IncidentStatus status) {
+        return IncidentResponse.builder().id(id).title("Incident " + id).severity(Severity.P2).status(status).build();
+    }
+}
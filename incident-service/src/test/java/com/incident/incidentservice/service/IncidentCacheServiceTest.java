@@ -0,0 +1,82 @@
+package com.incident.incidentservice.service;
+
+import com.incident.incidentservice.cache.IncidentResponseSerializer;
+import com.incident.incidentservice.dto.IncidentResponse;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IncidentCacheServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, IncidentResponse> redisTemplate = mock(RedisTemplate.class);
+    private final RedisConnection connection = mock(RedisConnection.class);
+    private final RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+    private IncidentCacheService cacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(scripting.eval(any(byte[].class), eq(ReturnType.INTEGER), anyInt(), any(byte[][].class))).thenReturn(1L);
+        doReturn(new IncidentResponseSerializer()).when(redisTemplate).getValueSerializer();
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        cacheService = new IncidentCacheService(redisTemplate, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1),
+                true, false, 1.0, Runnable::run);
+    }
+
+    @Test
+    void cacheIncident_KeepsTheNewerVersionInL1WhenAnOlderOneArrivesLate() {
+        cacheService.cacheIncident(incident(IncidentStatus.RESOLVED, 3));
+        cacheService.cacheIncident(incident(IncidentStatus.ACKNOWLEDGED, 2));
+
+        IncidentResponse cached = cacheService.getFromCache(1L);
+
+        assertThat(cached.getStatus()).isEqualTo(IncidentStatus.RESOLVED);
+        assertThat(cached.getVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void cacheIncident_WritesRedisThroughTheVersionCheck() {
+        cacheService.cacheIncident(incident(IncidentStatus.RESOLVED, 3));
+
+        ArgumentCaptor<byte[]> keysAndArgs = ArgumentCaptor.forClass(byte[].class);
+        verify(scripting).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(2), keysAndArgs.capture(),
+                keysAndArgs.capture(), keysAndArgs.capture(), keysAndArgs.capture(), keysAndArgs.capture());
+        List<byte[]> captured = keysAndArgs.getAllValues();
+        assertThat(utf8(captured.get(0))).isEqualTo("incident:1");
+        assertThat(utf8(captured.get(1))).isEqualTo("incident:1:version");
+        assertThat(utf8(captured.get(3))).isEqualTo("3");
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    private static String utf8(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static IncidentResponse incident(IncidentStatus status, long version) {
+        return IncidentResponse.builder()
+                .id(1L).incidentNumber("INC-001").title("Database down").severity(Severity.P1)
+                .status(status).version(version)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.incident.incidentservice.service;
+
+import com.incident.incidentservice.entity.Incident;
+import com.incident.incidentservice.enums.IncidentStatus;
+import com.incident.incidentservice.enums.Severity;
+import com.incident.incidentservice.repository.IncidentNumberCounterRepository;
+import com.incident.incidentservice.repository.IncidentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Reservations commit in their own transactions, so the test runs without the usual rollback wrapper
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IncidentNumberAllocatorTest {
+
+    @Autowired
+    private IncidentNumberCounterRepository counterRepository;
+    @Autowired
+    private IncidentRepository incidentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void nodesSharingTheCounterNeverHandOutTheSameNumber() throws Exception {
+        // Two allocators stand in for two replicas sharing one database
+        List<IncidentNumberAllocator> nodes = List.of(allocator(7), allocator(7));
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                IncidentNumberAllocator node = nodes.get(t % 2);
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        assertThat(issued.add(node.nextValue("shared"))).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(issued).hasSize(800);
+        assertThat(counterRepository.findById("shared").orElseThrow().getNextValue())
+                .isGreaterThanOrEqualTo(801);
+    }
+
+    @Test
+    void newDayStartsFromOneAndUsesItsOwnCounter() {
+        IncidentNumberAllocator allocator = allocator(3);
+
+        assertThat(allocator.nextValue("20240101")).isEqualTo(1);
+        assertThat(allocator.nextValue("20240101")).isEqualTo(2);
+        assertThat(allocator.nextValue("20240102")).isEqualTo(1);
+    }
+
+    @Test
+    void newDayContinuesAfterNumbersTheGlobalCounterIssuedThatDay() {
+        incidentRepository.saveAndFlush(Incident.builder()
+                .incidentNumber("INC-20240103-0042").title("Issued before the reset").severity(Severity.P3)
+                .status(IncidentStatus.TRIGGERED).build());
+
+        assertThat(allocator(3).nextValue("20240103")).isEqualTo(43);
+    }
+
+    @Test
+    void reservesTheNextBlockBeforeTheCurrentOneRunsOut() throws Exception {
+        IncidentNumberAllocator allocator = allocator(4);
+
+        assertThat(allocator.nextValue("ahead")).isEqualTo(1);
+        assertThat(allocator.nextValue("ahead")).isEqualTo(2);
+        assertThat(allocator.nextValue("ahead")).isEqualTo(3);
+
+        // Half the block is used, so the reservation of 5..8 is already under way
+        long deadline = System.currentTimeMillis() + 5000;
+        while (counterRepository.findById("ahead").orElseThrow().getNextValue() < 9 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(counterRepository.findById("ahead").orElseThrow().getNextValue()).isEqualTo(9);
+        assertThat(allocator.nextValue("ahead")).isEqualTo(4);
+        assertThat(allocator.nextValue("ahead")).isEqualTo(5);
+    }
+
+    @Test
+    void next_FormatsWithTheCurrentDay() {
+        assertThat(allocator(5).next()).matches("INC-\\d{8}-\\d{4,}");
+    }
+
+    private final List<IncidentNumberAllocator> allocators = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        allocators.forEach(IncidentNumberAllocator::shutdown);
+        incidentRepository.deleteAll();
+        counterRepository.deleteAll();
+    }
+
+    private IncidentNumberAllocator allocator(int blockSize) {
+        IncidentNumberAllocator allocator = new IncidentNumberAllocator(counterRepository, incidentRepository,
+                transactionManager, new SimpleMeterRegistry(), blockSize, false);
+        allocators.add(allocator);
+        return allocator;
+    }
+}
@@ -4,22 +4,33 @@ import com.incident.incidentservice.dto.*;
 import com.incident.incidentservice.entity.Incident;
 import com.incident.incidentservice.enums.IncidentStatus;
 import com.incident.incidentservice.enums.Severity;
+import com.incident.incidentservice.exception.IncidentConflictException;
 import com.incident.incidentservice.exception.IncidentNotFoundException;
 import com.incident.incidentservice.exception.InvalidStatusTransitionException;
+import com.incident.incidentservice.kafka.IncidentOutbox;
 import com.incident.incidentservice.mapper.IncidentMapper;
 import com.incident.incidentservice.repository.IncidentRepository;
-import com.incident.incidentservice.repository.UserRepository;
+import com.incident.incidentservice.repository.StatusTransition;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +39,19 @@ class IncidentServiceTest {
     @Mock
     private IncidentRepository incidentRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
     @Mock
     private IncidentMapper mapper;
+    @Mock
+    private IncidentOutbox outbox;
+    @Mock
+    private IncidentCacheService cacheService;
+    @Mock
+    private ActiveIncidentView activeIncidentView;
+    @Mock
+    private IncidentNumberAllocator numberAllocator;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
     @InjectMocks
     private IncidentService incidentService;
 
@@ -63,6 +84,7 @@ class IncidentServiceTest {
                 .severity(Severity.P1)
                 .build();
 
+        when(numberAllocator.next()).thenReturn("INC-20240101-0001");
         when(incidentRepository.save(any())).thenReturn(incident);
         when(mapper.toResponse(any())).thenReturn(response);
 
@@ -70,11 +92,12 @@ class IncidentServiceTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getTitle()).isEqualTo("Test Incident");
-        verify(incidentRepository).save(any());
+        verify(incidentRepository).save(argThat(saved -> "INC-20240101-0001".equals(saved.getIncidentNumber())));
     }
 
     @Test
     void getById_Success() {
+        loadThroughCache();
         when(incidentRepository.findById(1L)).thenReturn(Optional.of(incident));
         when(mapper.toResponse(incident)).thenReturn(response);
 
@@ -85,48 +108,138 @@ class IncidentServiceTest {
 
     @Test
     void getById_NotFound() {
+        loadThroughCache();
         when(incidentRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> incidentService.getById(99L))
                 .isInstanceOf(IncidentNotFoundException.class);
     }
 
+    @Test
+    void getByIds_LoadsOnlyMissesAndKeepsRequestOrder() {
+        Incident other = Incident.builder().id(2L).severity(Severity.P2).status(IncidentStatus.TRIGGERED).build();
+        IncidentResponse otherResponse = IncidentResponse.builder().id(2L).build();
+
+        when(cacheService.getAllFromCache(any())).thenReturn(Map.of(1L, response));
+        when(incidentRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(other));
+        when(mapper.toResponse(other)).thenReturn(otherResponse);
+
+        List<IncidentResponse> result = incidentService.getByIds(List.of(2L, 1L, 3L, 2L));
+
+        assertThat(result).containsExactly(otherResponse, response);
+        verify(cacheService).cacheAll(List.of(otherResponse));
+    }
+
+    @Test
+    void createIncidents_ReportsInvalidItemsAndSavesTheRestTogether() {
+        List<CreateIncidentRequest> requests = List.of(
+                CreateIncidentRequest.builder().title("Disk full").severity(Severity.P2).build(),
+                CreateIncidentRequest.builder().title("").build(),
+                CreateIncidentRequest.builder().title("API down").severity(Severity.P1).build());
+
+        when(numberAllocator.next()).thenReturn("INC-20240101-0001", "INC-20240101-0002");
+        when(incidentRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Incident> incidents = invocation.getArgument(0);
+            long id = 10;
+            for (Incident saved : incidents) {
+                saved.setId(id++);
+            }
+            return incidents;
+        });
+        when(mapper.toResponse(any())).thenReturn(response);
+
+        BulkOperationResponse result = incidentService.createIncidents(requests);
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(BulkItemResult::getIncidentId).containsExactly(10L, null, 11L);
+        assertThat(result.getResults().get(1).getErrors())
+                .containsExactly("Severity is required", "Title is required");
+        verify(incidentRepository).saveAll(argThat(incidents -> ((List<Incident>) incidents).size() == 2));
+        verify(outbox).addAll(argThat(events -> events.size() == 2));
+        verify(outbox, never()).add(any());
+    }
+
+    @Test
+    void acknowledgeAll_UpdatesValidIncidentsTogetherAndReportsTheRest() {
+        Incident resolved = Incident.builder().id(2L).incidentNumber("INC-002")
+                .severity(Severity.P2).status(IncidentStatus.RESOLVED).build();
+        when(incidentRepository.findAllByIdForUpdate(any())).thenReturn(List.of(incident, resolved));
+        when(mapper.toResponse(any())).thenReturn(response);
+
+        BulkOperationResponse result = incidentService.acknowledgeAll(List.of(1L, 2L, 3L), null);
+
+        assertThat(result.getResults()).extracting(BulkItemResult::isSuccess).containsExactly(true, false, false);
+        assertThat(result.getResults().get(1).getErrors()).containsExactly("Cannot transition from RESOLVED to ACKNOWLEDGED");
+        assertThat(result.getResults().get(2).getErrors()).containsExactly("Incident not found with id: 3");
+        verify(incidentRepository).acknowledgeAll(eq(List.of(1L)), any(), isNull(), isNull());
+        verify(incidentRepository, never()).save(any());
+        verify(outbox).addAll(argThat(events -> events.size() == 1
+                && events.get(0).getPreviousStatus() == IncidentStatus.TRIGGERED
+                && events.get(0).getNewStatus() == IncidentStatus.ACKNOWLEDGED));
+        verify(cacheService).evictAllAfterCommit(List.of(1L));
+    }
+
     @Test
     void acknowledge_Success() {
         incident.setStatus(IncidentStatus.TRIGGERED);
         Incident acknowledged = Incident.builder()
-                .id(1L).status(IncidentStatus.ACKNOWLEDGED).build();
+                .id(1L).severity(Severity.P1).status(IncidentStatus.ACKNOWLEDGED).build();
         IncidentResponse ackResponse = IncidentResponse.builder()
                 .id(1L).status(IncidentStatus.ACKNOWLEDGED).build();
 
-        when(incidentRepository.findById(1L)).thenReturn(Optional.of(incident));
-        when(incidentRepository.save(any())).thenReturn(acknowledged);
+        when(incidentRepository.transition(eq(1L), any()))
+                .thenReturn(Optional.of(new StatusTransition.Result(acknowledged, IncidentStatus.TRIGGERED)));
         when(mapper.toResponse(any())).thenReturn(ackResponse);
 
         IncidentResponse result = incidentService.acknowledge(1L, null);
 
         assertThat(result.getStatus()).isEqualTo(IncidentStatus.ACKNOWLEDGED);
+        verify(cacheService).updateAfterCommit(ackResponse);
+        verify(cacheService, never()).evictFromCache(any());
+        verify(incidentRepository, never()).save(any());
+        verify(outbox).add(argThat(event -> event.getPreviousStatus() == IncidentStatus.TRIGGERED));
     }
 
     @Test
     void acknowledge_InvalidTransition() {
-        incident.setStatus(IncidentStatus.CLOSED);
-        when(incidentRepository.findById(1L)).thenReturn(Optional.of(incident));
+        when(incidentRepository.transition(eq(1L), any())).thenReturn(Optional.empty());
+        when(incidentRepository.findStatusById(1L)).thenReturn(Optional.of(IncidentStatus.CLOSED));
 
         assertThatThrownBy(() -> incidentService.acknowledge(1L, null))
-                .isInstanceOf(InvalidStatusTransitionException.class);
+                .isInstanceOf(InvalidStatusTransitionException.class)
+                .isNotInstanceOf(IncidentConflictException.class);
+    }
+
+    @Test
+    void acknowledge_ConflictWhenTheUpdateLostARace() {
+        // The status allows the transition, so the row changed between the update and the read
+        when(incidentRepository.transition(eq(1L), any())).thenReturn(Optional.empty());
+        when(incidentRepository.findStatusById(1L)).thenReturn(Optional.of(IncidentStatus.TRIGGERED));
+
+        assertThatThrownBy(() -> incidentService.acknowledge(1L, null))
+                .isInstanceOf(IncidentConflictException.class);
+    }
+
+    @Test
+    void acknowledge_NotFound() {
+        when(incidentRepository.transition(eq(99L), any())).thenReturn(Optional.empty());
+        when(incidentRepository.findStatusById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> incidentService.acknowledge(99L, null))
+                .isInstanceOf(IncidentNotFoundException.class);
     }
 
     @Test
     void resolve_Success() {
         incident.setStatus(IncidentStatus.ACKNOWLEDGED);
         Incident resolved = Incident.builder()
-                .id(1L).status(IncidentStatus.RESOLVED).build();
+                .id(1L).severity(Severity.P1).status(IncidentStatus.RESOLVED).build();
         IncidentResponse resResponse = IncidentResponse.builder()
                 .id(1L).status(IncidentStatus.RESOLVED).build();
 
-        when(incidentRepository.findById(1L)).thenReturn(Optional.of(incident));
-        when(incidentRepository.save(any())).thenReturn(resolved);
+        when(incidentRepository.transition(eq(1L), argThat(t -> t.getDescriptionSuffix().endsWith("Resolution: Fixed"))))
+                .thenReturn(Optional.of(new StatusTransition.Result(resolved, IncidentStatus.ACKNOWLEDGED)));
         when(mapper.toResponse(any())).thenReturn(resResponse);
 
         IncidentResponse result = incidentService.resolve(1L, "Fixed");
@@ -138,12 +251,13 @@ class IncidentServiceTest {
     void escalate_Success() {
         incident.setEscalationLevel(0);
         Incident escalated = Incident.builder()
-                .id(1L).status(IncidentStatus.ESCALATED).escalationLevel(1).slaBreach(true).build();
+                .id(1L).severity(Severity.P1).status(IncidentStatus.ESCALATED).escalationLevel(1).slaBreach(true).build();
         IncidentResponse escResponse = IncidentResponse.builder()
                 .id(1L).status(IncidentStatus.ESCALATED).escalationLevel(1).slaBreach(true).build();
 
-        when(incidentRepository.findById(1L)).thenReturn(Optional.of(incident));
-        when(incidentRepository.save(any())).thenReturn(escalated);
+        when(incidentRepository.transition(eq(1L), argThat(t -> t.getIncrements().contains("escalationLevel")
+                && t.getAllowedFrom().contains(IncidentStatus.ESCALATED))))
+                .thenReturn(Optional.of(new StatusTransition.Result(escalated, IncidentStatus.TRIGGERED)));
         when(mapper.toResponse(any())).thenReturn(escResponse);
 
         IncidentResponse result = incidentService.escalate(1L);
@@ -151,5 +265,12 @@ class IncidentServiceTest {
         assertThat(result.getStatus()).isEqualTo(IncidentStatus.ESCALATED);
         assertThat(result.getEscalationLevel()).isEqualTo(1);
         assertThat(result.isSlaBreach()).isTrue();
+        verify(incidentRepository, never()).save(any());
+        verify(outbox).add(argThat(event -> event.getPreviousStatus() == IncidentStatus.TRIGGERED));
+    }
+
+    private void loadThroughCache() {
+        when(cacheService.getOrLoad(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<IncidentResponse>>getArgument(1).get());
     }
 }
@@ -0,0 +1,81 @@
+package com.incident.incidentservice.service;
+
+import com.incident.incidentservice.entity.User;
+import com.incident.incidentservice.enums.Role;
+import com.incident.incidentservice.event.UserChangedEvent;
+import com.incident.incidentservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserDirectoryTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        directory = new UserDirectory(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void findById_LoadsOnceAndServesUsernameLookupsFromTheSameEntry() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "alice")));
+
+        assertThat(directory.findById(1L)).map(User::getUsername).contains("alice");
+        assertThat(directory.findById(1L)).isPresent();
+        assertThat(directory.findByUsername("alice")).map(User::getId).contains(1L);
+
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, never()).findByUsername(any());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users.by.id").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findById_DoesNotCacheUnknownUsers() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty(), Optional.of(user(2L, "bob")));
+
+        assertThat(directory.findById(2L)).isEmpty();
+        assertThat(directory.findById(2L)).isPresent();
+    }
+
+    @Test
+    void findAllById_QueriesOnlyTheMissingIds() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "alice")));
+        when(userRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(user(2L, "bob")));
+        directory.findById(1L);
+
+        assertThat(directory.findAllById(List.of(1L, 2L, 3L))).containsOnlyKeys(1L, 2L);
+        verify(userRepository).findAllById(List.of(2L, 3L));
+    }
+
+    @Test
+    void userChanged_EvictsAndReloadsFromRepository() {
+        User alice = user(1L, "alice");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        directory.findByUsername("alice");
+
+        directory.onUserChanged(new UserChangedEvent(1L, "alice", true));
+        directory.findByUsername("alice");
+        directory.findById(1L);
+
+        verify(userRepository, times(2)).findByUsername("alice");
+        verify(userRepository, never()).findById(any());
+    }
+
+    private User user(Long id, String username) {
+        return User.builder().id(id).username(username).email(username + "@example.com")
+                .password("secret").role(Role.USER).build();
+    }
+}
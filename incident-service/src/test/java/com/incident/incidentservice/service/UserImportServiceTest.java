@@ -0,0 +1,136 @@
+package com.incident.incidentservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.incidentservice.dto.auth.UserImportReport;
+import com.incident.incidentservice.dto.auth.UserImportRowResult;
+import com.incident.incidentservice.entity.User;
+import com.incident.incidentservice.enums.Role;
+import com.incident.incidentservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Each import chunk commits on its own, so the test-managed rollback is turned off
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = service(4, 100);
+        userRepository.save(User.builder().username("existing").email("existing@example.com")
+                .password("x").role(Role.USER).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importCsv_ReportsEveryRowAndSavesTheValidOnes() throws Exception {
+        UserImportReport report = importService.importCsv(stream("""
+                username,email,password,role,teamName
+                alice,alice@example.com,secret1,admin,"Platform, EU"
+                bob,bob@example.com,secret2,,
+                existing,new@example.com,secret3,,
+                carol,alice@example.com,secret4,,
+                dave,dave@example.com,secret5,wizard,
+                erin,not-an-email,secret6,,
+                frank,frank@example.com
+                """));
+
+        assertThat(report.getRequested()).isEqualTo(7);
+        assertThat(report.getSucceeded()).isEqualTo(2);
+        assertThat(report.isTruncated()).isFalse();
+        assertThat(report.getResults()).extracting(UserImportRowResult::getRow).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(report.getResults()).extracting(UserImportRowResult::isSuccess)
+                .containsExactly(true, true, false, false, false, false, false);
+        assertThat(report.getResults().get(2).getErrors()).containsExactly("Username already exists");
+        assertThat(report.getResults().get(3).getErrors()).containsExactly("Email appears earlier in the upload");
+        assertThat(report.getResults().get(4).getErrors()).containsExactly("Unknown role: wizard");
+        assertThat(report.getResults().get(5).getErrors()).containsExactly("A valid email is required");
+        assertThat(report.getResults().get(6).getErrors()).containsExactly("Expected 5 columns but found 2");
+
+        User alice = userRepository.findByUsername("alice").orElseThrow();
+        assertThat(alice.getId()).isEqualTo(report.getResults().get(0).getUserId());
+        assertThat(alice.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(alice.getTeamName()).isEqualTo("Platform, EU");
+        assertThat(passwordEncoder.matches("secret1", alice.getPassword())).isTrue();
+        assertThat(userRepository.findByUsername("bob").orElseThrow().getRole()).isEqualTo(Role.USER);
+    }
+
+    @Test
+    void importJson_ProcessesChunksInOrder() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 25; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"username\":\"user").append(i).append("\",\"email\":\"user").append(i)
+                    .append("@example.com\",\"password\":\"pw").append(i).append("\"}");
+        }
+        json.append("]");
+
+        UserImportReport report = importService.importJson(stream(json.toString()));
+
+        assertThat(report.getSucceeded()).isEqualTo(25);
+        assertThat(report.getResults()).extracting(UserImportRowResult::getUsername).startsWith("user0", "user1", "user2");
+        assertThat(userRepository.count()).isEqualTo(26);
+    }
+
+    @Test
+    void importStopsAtTheRowLimit() throws Exception {
+        UserImportService limited = service(3, 2);
+        try {
+            UserImportReport report = limited.importCsv(stream("""
+                    username,email,password
+                    a,a@example.com,pw
+                    b,b@example.com,pw
+                    c,c@example.com,pw
+                    """));
+
+            assertThat(report.getRequested()).isEqualTo(2);
+            assertThat(report.isTruncated()).isTrue();
+            assertThat(userRepository.findByUsername("c")).isEmpty();
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    @Test
+    void importCsv_RejectsUploadsWithoutRequiredColumns() {
+        assertThatThrownBy(() -> importService.importCsv(stream("name,email\nx,x@example.com\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private UserImportService service(int chunkSize, int maxRows) {
+        return new UserImportService(userRepository, passwordEncoder, new ObjectMapper(), transactionManager,
+                new SimpleMeterRegistry(), 2, chunkSize, maxRows);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package com.incident.notificationservice.consumer;
+
+import com.incident.notificationservice.event.IncidentEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes events whose notifications could not be delivered to {@code <topic>.DLT}, keyed as before
+ * and carrying the original position and the failure in Spring Kafka's dead-letter headers, so they can
+ * be inspected and replayed.
+ * <p>
+ * A dead letter the broker does not accept is sent again after a backoff that doubles up to
+ * max-retry-backoff, for as long as it takes: the original offset is only committed once its dead letter
+ * is written, so giving up would leave that partition's commits stuck behind it.
+ */
+@Component
+@Slf4j
+public class DeadLetterPublisher {
+
+    private final KafkaTemplate<String, IncidentEvent> kafkaTemplate;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final ScheduledExecutorService retryScheduler;
+    private final Counter deadLettered;
+    private final Counter retries;
+
+    public DeadLetterPublisher(KafkaTemplate<String, IncidentEvent> kafkaTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${notification.dead-letter.retry-backoff:1s}") Duration retryBackoff,
+                               @Value("${notification.dead-letter.max-retry-backoff:1m}") Duration maxRetryBackoff) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "dead-letter-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadLettered = Counter.builder("notification.events.dead.lettered")
+                .description("Events sent to the dead-letter topic after their notifications failed")
+                .register(meterRegistry);
+        this.retries = Counter.builder("notification.dead.letter.retries")
+                .description("Dead letters sent again after the broker did not accept them")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    /**
+     * Completes once the broker has the dead letter, retrying until it does; fails only if the publisher
+     * shuts down first.
+     */
+    public CompletableFuture<Void> publish(ConsumerRecord<String, IncidentEvent> record, Throwable failure) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        send(record, failure, written, 1, retryBackoff);
+        return written;
+    }
+
+    private void send(ConsumerRecord<String, IncidentEvent> record, Throwable failure,
+                      CompletableFuture<Void> written, int attempt, Duration backoff) {
+        CompletableFuture<?> sent;
+        try {
+            sent = kafkaTemplate.send(deadLetter(record, failure));
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((ignored, e) -> {
+            if (e == null) {
+                deadLettered.increment();
+                written.complete(null);
+                return;
+            }
+            log.warn("⚠️ Dead letter for {}-{}@{} not written (attempt {}), retrying in {}: {}",
+                    record.topic(), record.partition(), record.offset(), attempt, backoff, e.getMessage());
+            Duration doubled = backoff.multipliedBy(2);
+            Duration next = doubled.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : doubled;
+            try {
+                retryScheduler.schedule(() -> {
+                    retries.increment();
+                    send(record, failure, written, attempt + 1, next);
+                }, backoff.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shutDown) {
+                written.completeExceptionally(e);
+            }
+        });
+    }
+
+    // Built afresh for every attempt, as a sent record's headers become read-only
+    private static ProducerRecord<String, IncidentEvent> deadLetter(ConsumerRecord<String, IncidentEvent> record,
+                                                                    Throwable failure) {
+        ProducerRecord<String, IncidentEvent> deadLetter =
+                new ProducerRecord<>(record.topic() + ".DLT", record.key(), record.value());
+        Headers headers = deadLetter.headers();
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, failure.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(failure.getMessage()).getBytes(StandardCharsets.UTF_8));
+        return deadLetter;
+    }
+}
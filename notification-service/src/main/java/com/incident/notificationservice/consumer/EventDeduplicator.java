@@ -0,0 +1,310 @@
+package com.incident.notificationservice.consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers the ids of recently processed events so a redelivered event (after a rebalance, a restart
+ * or a producer retry) does not page anyone twice.
+ * <p>
+ * Ids are kept exactly for exact-window, split into time buckets so the oldest bucket can be dropped as
+ * a whole; if the buckets fill up before then, the oldest is dropped early. A lookup is a hash probe per
+ * bucket, so there is no cheaper pre-check worth keeping in front of it.
+ * <p>
+ * An id counts as seen once its processing has settled. A copy arriving while the first is still in
+ * flight shares that copy's outcome instead of being processed again; if processing fails the id is
+ * forgotten so a later redelivery is processed. Lookups are in memory; the optional snapshot file is
+ * written in the background.
+ */
+@Component
+@Slf4j
+public class EventDeduplicator {
+
+    /**
+     * What {@link #begin} decided. When granted, the caller processes the event and reports through
+     * {@link #finish} or {@link #abandon}; otherwise {@code settled} completes once the copy already seen
+     * has settled, straight away for one processed earlier, and fails if that copy could not be settled.
+     */
+    public record Claim(boolean granted, CompletableFuture<Void> settled) {
+    }
+
+    private static final Claim GRANTED = new Claim(true, CompletableFuture.completedFuture(null));
+    private static final Claim SEEN = new Claim(false, CompletableFuture.completedFuture(null));
+
+    private static final int SNAPSHOT_VERSION = 2;
+    // A UUID string plus its set entry, roughly
+    private static final int BYTES_PER_EXACT_ENTRY = 120;
+
+    private final boolean enabled;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int maxExactEntries;
+    private final Path snapshotFile;
+
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger exactEntries = new AtomicInteger();
+    private volatile List<Bucket> buckets;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Object snapshotLock = new Object();
+
+    private final Counter inFlightDuplicates;
+    private final Counter exactDuplicates;
+
+    public EventDeduplicator(MeterRegistry meterRegistry,
+                             @Value("${notification.dedup.enabled:true}") boolean enabled,
+                             @Value("${notification.dedup.exact-window:1h}") Duration exactWindow,
+                             @Value("${notification.dedup.buckets:6}") int bucketCount,
+                             @Value("${notification.dedup.max-exact-entries:200000}") int maxExactEntries,
+                             @Value("${notification.dedup.snapshot-file:}") String snapshotFile,
+                             @Value("${notification.dedup.snapshot-interval:30s}") Duration snapshotInterval) {
+        this.enabled = enabled;
+        this.bucketCount = bucketCount;
+        this.bucketMillis = exactWindow.toMillis() / bucketCount;
+        this.maxExactEntries = maxExactEntries;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+
+        long now = System.currentTimeMillis();
+        this.buckets = List.of(new Bucket(now));
+        restore();
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "event-dedup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            scheduler.scheduleAtFixedRate(this::rotateBuckets, bucketMillis, bucketMillis, TimeUnit.MILLISECONDS);
+            if (this.snapshotFile != null) {
+                long interval = snapshotInterval.toMillis();
+                scheduler.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        Counter.Builder duplicates = Counter.builder("notification.dedup.duplicates")
+                .description("Redelivered events that were dropped");
+        this.inFlightDuplicates = duplicates.tag("source", "in-flight").register(meterRegistry);
+        this.exactDuplicates = duplicates.tag("source", "exact").register(meterRegistry);
+        Gauge.builder("notification.dedup.entries", exactEntries, AtomicInteger::get)
+                .description("Event ids held exactly")
+                .register(meterRegistry);
+        Gauge.builder("notification.dedup.in.flight", inFlight, Map::size)
+                .description("Event ids being processed right now")
+                .register(meterRegistry);
+        Gauge.builder("notification.dedup.memory.bytes", this, EventDeduplicator::estimatedBytes)
+                .description("Estimated memory held by the exact window")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        if (enabled && snapshotFile != null) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Claims the event for processing, unless it has already been processed or another copy of it is
+     * being processed right now.
+     */
+    public Claim begin(String eventId) {
+        if (!enabled || eventId == null) {
+            return GRANTED;
+        }
+        if (isRecent(eventId)) {
+            exactDuplicates.increment();
+            return SEEN;
+        }
+        CompletableFuture<Void> claimed = new CompletableFuture<>();
+        CompletableFuture<Void> original = inFlight.putIfAbsent(eventId, claimed);
+        if (original != null) {
+            inFlightDuplicates.increment();
+            return new Claim(false, original);
+        }
+        // A copy may have finished between the check above and claiming it
+        if (isRecent(eventId)) {
+            inFlight.remove(eventId, claimed);
+            claimed.complete(null);
+            exactDuplicates.increment();
+            return SEEN;
+        }
+        return new Claim(true, claimed);
+    }
+
+    /**
+     * Settles a granted claim. A processed id is remembered; otherwise it is forgotten, and copies that
+     * arrived in the meantime settle with it either way.
+     */
+    public void finish(String eventId, boolean processed) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        if (processed) {
+            if (buckets.get(0).ids.add(eventId) && exactEntries.incrementAndGet() > maxExactEntries) {
+                dropOldestBucket();
+            }
+        }
+        CompletableFuture<Void> claimed = inFlight.remove(eventId);
+        if (claimed != null) {
+            claimed.complete(null);
+        }
+    }
+
+    /** Releases a granted claim whose event could not be settled; copies waiting on it fail with {@code cause}. */
+    public void abandon(String eventId, Throwable cause) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        CompletableFuture<Void> claimed = inFlight.remove(eventId);
+        if (claimed != null) {
+            claimed.completeExceptionally(cause);
+        }
+    }
+
+    private boolean isRecent(String eventId) {
+        for (Bucket bucket : buckets) {
+            if (bucket.ids.contains(eventId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void rotateBuckets() {
+        List<Bucket> rotated = new ArrayList<>(bucketCount);
+        rotated.add(new Bucket(System.currentTimeMillis()));
+        rotated.addAll(buckets);
+        while (rotated.size() > bucketCount) {
+            exactEntries.addAndGet(-rotated.remove(rotated.size() - 1).ids.size());
+        }
+        buckets = List.copyOf(rotated);
+    }
+
+    // The exact window is full: give up its oldest bucket, whose ids are no longer recognised
+    private synchronized void dropOldestBucket() {
+        if (exactEntries.get() <= maxExactEntries) {
+            return;
+        }
+        if (buckets.size() == 1) {
+            rotateBuckets();
+        }
+        List<Bucket> remaining = new ArrayList<>(buckets);
+        exactEntries.addAndGet(-remaining.remove(remaining.size() - 1).ids.size());
+        buckets = List.copyOf(remaining);
+    }
+
+    private double estimatedBytes() {
+        return (double) exactEntries.get() * BYTES_PER_EXACT_ENTRY;
+    }
+
+    private void snapshot() {
+        synchronized (snapshotLock) {
+            writeSnapshot();
+        }
+    }
+
+    private void writeSnapshot() {
+        Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            if (snapshotFile.getParent() != null) {
+                Files.createDirectories(snapshotFile.getParent());
+            }
+        } catch (IOException e) {
+            log.warn("Could not create directory for dedup snapshot {}: {}", snapshotFile, e.getMessage());
+            return;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            List<Bucket> current = buckets;
+            out.writeInt(current.size());
+            for (Bucket bucket : current) {
+                List<String> ids = List.copyOf(bucket.ids);
+                out.writeLong(bucket.startedAt);
+                out.writeInt(ids.size());
+                for (String id : ids) {
+                    out.writeUTF(id);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not write dedup snapshot {}: {}", snapshotFile, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not replace dedup snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    // Keeps only what is still inside its window
+    private void restore() {
+        if (!enabled || snapshotFile == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring dedup snapshot {} written by another version", snapshotFile);
+                return;
+            }
+            List<Bucket> restored = new ArrayList<>();
+            int restoredEntries = 0;
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Bucket bucket = new Bucket(in.readLong());
+                int size = in.readInt();
+                for (int j = 0; j < size; j++) {
+                    bucket.ids.add(in.readUTF());
+                }
+                if (now - bucket.startedAt < bucketMillis * bucketCount && restored.size() < bucketCount) {
+                    restored.add(bucket);
+                    restoredEntries += bucket.ids.size();
+                }
+            }
+            if (!restored.isEmpty()) {
+                buckets = List.copyOf(restored);
+                exactEntries.set(restoredEntries);
+            }
+            log.info("🔁 Restored {} recent event ids from {}", exactEntries.get(), snapshotFile);
+        } catch (NoSuchFileException e) {
+            log.info("No dedup snapshot at {} yet", snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not read dedup snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long startedAt;
+        private final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        Bucket(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -1,22 +1,224 @@
 package com.incident.notificationservice.consumer;
 
 import com.incident.notificationservice.event.IncidentEvent;
+import com.incident.notificationservice.service.NotificationDispatcher;
 import com.incident.notificationservice.service.NotificationService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives each poll as one batch and hands every event to {@link NotificationService}, which queues
+ * the deliveries and returns immediately, so a batch is released as soon as it has been handed off.
+ * <p>
+ * Events for the same incident (the record key) are processed strictly in order, one after the other,
+ * while different incidents proceed in parallel even within a partition. A record's offset becomes
+ * committable only when its deliveries have settled, see {@link PartitionOffsetTracker}. Events already
+ * processed, as recognised by their eventId, are skipped, see {@link EventDeduplicator}.
+ * <p>
+ * An event whose notifications fail is sent to the dead-letter topic before its offset is released; the
+ * publisher retries until the dead letter is written, so the offset is left uncommitted, and redelivered
+ * after a restart, only if the service shuts down first.
+ * <p>
+ * Nothing here waits for a channel: deliveries are handed off without blocking. Instead, when more than
+ * max-in-flight records are unfinished or the fullest channel queue reaches pause-queue-utilisation, the
+ * listener container is paused, so it keeps polling (and stays in the group) without fetching. It is
+ * resumed once both have drained, to resume-in-flight and resume-queue-utilisation. Pausing before the
+ * channel queues fill keeps deliveries from being rejected under a burst.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class IncidentEventConsumer {
 
+    static final String LISTENER_ID = "incident-events";
+
     private final NotificationService notificationService;
+    private final NotificationDispatcher dispatcher;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final PartitionOffsetTracker offsetTracker;
+    private final EventDeduplicator deduplicator;
+    private final DeadLetterPublisher deadLetters;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final boolean keyOrdered;
+    private final int maxInFlight;
+    private final int resumeInFlight;
+    private final double pauseQueueUtilisation;
+    private final double resumeQueueUtilisation;
+    private volatile boolean paused;
+    private final DistributionSummary batchSize;
+    private final Counter consumed;
+    private final Counter skipped;
+    private final Counter failed;
+    private final Timer eventLag;
+
+    public IncidentEventConsumer(NotificationService notificationService,
+                                 NotificationDispatcher dispatcher,
+                                 KeyOrderedExecutor keyOrderedExecutor,
+                                 PartitionOffsetTracker offsetTracker,
+                                 EventDeduplicator deduplicator,
+                                 DeadLetterPublisher deadLetters,
+                                 KafkaListenerEndpointRegistry listenerRegistry,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.kafka.consumer.key-ordered:true}") boolean keyOrdered,
+                                 @Value("${notification.kafka.consumer.max-in-flight:10000}") int maxInFlight,
+                                 @Value("${notification.kafka.consumer.resume-in-flight:5000}") int resumeInFlight,
+                                 @Value("${notification.kafka.consumer.pause-queue-utilisation:0.5}") double pauseQueueUtilisation,
+                                 @Value("${notification.kafka.consumer.resume-queue-utilisation:0.25}") double resumeQueueUtilisation) {
+        this.notificationService = notificationService;
+        this.dispatcher = dispatcher;
+        this.keyOrderedExecutor = keyOrderedExecutor;
+        this.offsetTracker = offsetTracker;
+        this.deduplicator = deduplicator;
+        this.deadLetters = deadLetters;
+        this.listenerRegistry = listenerRegistry;
+        this.keyOrdered = keyOrdered;
+        this.maxInFlight = maxInFlight;
+        this.resumeInFlight = Math.min(resumeInFlight, maxInFlight);
+        this.pauseQueueUtilisation = pauseQueueUtilisation;
+        this.resumeQueueUtilisation = Math.min(resumeQueueUtilisation, pauseQueueUtilisation);
+        this.batchSize = DistributionSummary.builder("notification.consumer.batch.size")
+                .description("Records received per poll")
+                .register(meterRegistry);
+        this.consumed = Counter.builder("notification.events.consumed").register(meterRegistry);
+        this.skipped = Counter.builder("notification.events.skipped")
+                .description("Records that could not be deserialized")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.events.failed")
+                .description("Events with at least one notification that was not delivered")
+                .register(meterRegistry);
+        this.eventLag = Timer.builder("notification.event.lag")
+                .description("Time from the record being written to Kafka until it was handed to the notifier")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(id = LISTENER_ID, topics = "${notification.kafka.consumer.topic:incident-event}", groupId = "notification-group")
+    public void consume(List<ConsumerRecord<String, IncidentEvent>> records, Consumer<?, ?> consumer) {
+        log.debug("📥 Received batch of {} events", records.size());
+        batchSize.record(records.size());
+        for (ConsumerRecord<String, IncidentEvent> record : records) {
+            PartitionOffsetTracker.Partition partition =
+                    offsetTracker.track(new TopicPartition(record.topic(), record.partition()), record.offset());
+            IncidentEvent event = record.value();
+            if (event == null) {
+                skipped.increment();
+                log.warn("Skipping undeserializable record at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                partition.complete(record.offset());
+                continue;
+            }
+            EventDeduplicator.Claim claim = deduplicator.begin(event.getEventId());
+            if (!claim.granted()) {
+                log.info("Skipping duplicate event {} for incident {}", event.getEventId(), event.getIncidentNumber());
+                // A copy still in flight decides when this offset may be committed; it only fails to settle
+                // when the service shuts down, and then this record is redelivered along with it
+                claim.settled().whenComplete((ignored, e) -> {
+                    if (e == null) {
+                        partition.complete(record.offset());
+                        resumeIfDrained();
+                    }
+                });
+                continue;
+            }
+            log.info("📥 Received event: {} for incident: {}", event.getEventType(), event.getIncidentNumber());
+            process(record.key(), event).whenComplete((ignored, e) -> {
+                if (e == null) {
+                    deduplicator.finish(event.getEventId(), true);
+                    partition.complete(record.offset());
+                    resumeIfDrained();
+                } else {
+                    failed.increment();
+                    deadLetter(record, partition, e instanceof CompletionException ? e.getCause() : e);
+                }
+            });
+            consumed.increment();
+            eventLag.record(Math.max(0, System.currentTimeMillis() - record.timestamp()), TimeUnit.MILLISECONDS);
+        }
+        pauseIfFull();
+        offsetTracker.commit(consumer);
+    }
+
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        // Published on the consumer thread, so its consumer can be used to commit
+        offsetTracker.commit(event.getConsumer());
+        // Records dropped by a rebalance leave the backlog without finishing, so nothing else would resume
+        resumeIfDrained();
+    }
+
+    private void deadLetter(ConsumerRecord<String, IncidentEvent> record, PartitionOffsetTracker.Partition partition,
+                            Throwable failure) {
+        IncidentEvent event = record.value();
+        log.error("❌ Failed to process event {} for incident {}, dead-lettering: {}",
+                event.getEventId(), event.getIncidentNumber(), failure.getMessage());
+        deadLetters.publish(record, failure).whenComplete((ignored, e) -> {
+            if (e == null) {
+                deduplicator.finish(event.getEventId(), false);
+                partition.complete(record.offset());
+                resumeIfDrained();
+            } else {
+                deduplicator.abandon(event.getEventId(), e);
+                log.error("❌ Shut down before event {} was dead-lettered; its offset stays uncommitted for redelivery",
+                        event.getEventId());
+            }
+        });
+    }
+
+    private CompletableFuture<Void> process(String key, IncidentEvent event) {
+        if (keyOrdered && key != null) {
+            return keyOrderedExecutor.submit(key, () -> notificationService.processEvent(event));
+        }
+        try {
+            return notificationService.processEvent(event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Pausing the container rather than blocking here keeps the consumer polling, so it is not evicted
+    private synchronized void pauseIfFull() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        if (!paused && container != null
+                && (offsetTracker.inFlight() > maxInFlight || dispatcher.queueUtilisation() >= pauseQueueUtilisation)) {
+            paused = true;
+            container.pause();
+            log.warn("⏸️ Pausing consumption with {} records in flight and the fullest channel queue {}% full",
+                    offsetTracker.inFlight(), Math.round(dispatcher.queueUtilisation() * 100));
+        }
+    }
+
+    // Called as records finish, on any thread; the container applies the resume on its consumer thread
+    private void resumeIfDrained() {
+        if (!paused || !drained()) {
+            return;
+        }
+        synchronized (this) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+            if (paused && container != null && drained()) {
+                paused = false;
+                container.resume();
+                log.info("▶️ Resuming consumption with {} records in flight", offsetTracker.inFlight());
+            }
+        }
+    }
 
-    @KafkaListener(topics = "incident-event", groupId = "notification-group")
-    public void consume(IncidentEvent event) {
-        log.info("📥 Received event: {} for incident: {}", event.getEventType(), event.getIncidentNumber());
-        notificationService.processEvent(event);
+    private boolean drained() {
+        return offsetTracker.inFlight() <= resumeInFlight && dispatcher.queueUtilisation() <= resumeQueueUtilisation;
     }
 }
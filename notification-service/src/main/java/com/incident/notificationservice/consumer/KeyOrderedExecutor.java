@@ -0,0 +1,104 @@
+package com.incident.notificationservice.consumer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous tasks one at a time per key and concurrently across keys: a task starts only once
+ * the previous task for its key has completed, successfully or not. Used to keep each incident's
+ * notifications in event order while other incidents on the same partition carry on.
+ * <p>
+ * A task whose key is idle starts on the calling thread; starting one only hands its deliveries to their
+ * channels, which never blocks. Later tasks for a busy key are started from a small pool when their
+ * predecessor completes, so the channel worker that completed it goes straight back to delivering.
+ */
+@Component
+public class KeyOrderedExecutor {
+
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Map<String, Integer> depths = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ExecutorService starter;
+    private final DistributionSummary depthOnArrival;
+
+    public KeyOrderedExecutor(MeterRegistry meterRegistry,
+                              @Value("${notification.kafka.consumer.ordering-threads:2}") int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.starter = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "key-ordered-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.depthOnArrival = DistributionSummary.builder("notification.key.queue.depth")
+                .description("Tasks already waiting for the same key when a task arrives")
+                .register(meterRegistry);
+        Gauge.builder("notification.key.queues.active", depths, Map::size)
+                .description("Keys with at least one task running or waiting")
+                .register(meterRegistry);
+        Gauge.builder("notification.key.queued", queued, AtomicInteger::get)
+                .description("Tasks waiting behind an earlier task for their key")
+                .register(meterRegistry);
+        Gauge.builder("notification.key.queue.depth.max", depths,
+                        map -> map.values().stream().mapToInt(Integer::intValue).max().orElse(0))
+                .description("Tasks running or waiting for the busiest key")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        starter.shutdown();
+    }
+
+    public CompletableFuture<Void> submit(String key, Supplier<CompletableFuture<Void>> task) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        int depth = depths.merge(key, 1, Integer::sum);
+        depthOnArrival.record(depth - 1);
+        CompletableFuture<Void> previous = tails.put(key, result);
+
+        if (previous == null || previous.isDone()) {
+            start(key, task, result);
+        } else {
+            queued.incrementAndGet();
+            previous.whenCompleteAsync((ignored, failure) -> {
+                queued.decrementAndGet();
+                start(key, task, result);
+            }, starter);
+        }
+        return result;
+    }
+
+    private void start(String key, Supplier<CompletableFuture<Void>> task, CompletableFuture<Void> result) {
+        CompletableFuture<Void> running;
+        try {
+            running = task.get();
+        } catch (RuntimeException e) {
+            running = CompletableFuture.failedFuture(e);
+        }
+        running.whenComplete((ignored, failure) -> {
+            tails.remove(key, result);
+            depths.computeIfPresent(key, (k, depth) -> depth == 1 ? null : depth - 1);
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(null);
+            }
+        });
+    }
+}
@@ -0,0 +1,152 @@
+package com.incident.notificationservice.consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks which records of each assigned partition are still being processed, so that only the
+ * contiguous prefix of finished records is ever committed. Records finish out of order once they are
+ * processed in parallel; committing past an unfinished one would lose it on a restart.
+ * <p>
+ * Commits are made from the consumer thread that owns the partition, as the Kafka client requires.
+ */
+@Component
+@Slf4j
+public class PartitionOffsetTracker implements ConsumerAwareRebalanceListener {
+
+    private final Map<TopicPartition, Partition> partitions = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public PartitionOffsetTracker(MeterRegistry meterRegistry) {
+        Gauge.builder("notification.consumer.in.flight", inFlight, AtomicInteger::get)
+                .description("Records received but not yet fully processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a received record; call {@link Partition#complete} on the returned handle once it is
+     * processed. A handle whose partition has since been revoked ignores completions.
+     */
+    public Partition track(TopicPartition topicPartition, long offset) {
+        Partition partition = partitions.computeIfAbsent(topicPartition, tp -> new Partition());
+        partition.track(offset);
+        return partition;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Commits, asynchronously, every partition of this consumer whose finished prefix has advanced. */
+    public void commit(Consumer<?, ?> consumer) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = committable(consumer.assignment());
+        if (offsets.isEmpty()) {
+            return;
+        }
+        consumer.commitAsync(offsets, (committed, e) -> {
+            if (e != null) {
+                log.warn("Offset commit failed, will retry with the next commit: {}", e.getMessage());
+                return;
+            }
+            committed.forEach((tp, offset) -> {
+                Partition partition = partitions.get(tp);
+                if (partition != null) {
+                    partition.committed(offset.offset());
+                }
+            });
+        });
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = committable(revoked);
+        if (!offsets.isEmpty()) {
+            try {
+                consumer.commitSync(offsets);
+            } catch (RuntimeException e) {
+                log.warn("Could not commit revoked partitions {}: {}", revoked, e.getMessage());
+            }
+        }
+        forget(revoked);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        forget(lost);
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> committable(Collection<TopicPartition> assigned) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition tp : assigned) {
+            Partition partition = partitions.get(tp);
+            long next = partition == null ? -1 : partition.committable();
+            if (next >= 0) {
+                offsets.put(tp, new OffsetAndMetadata(next));
+            }
+        }
+        return offsets;
+    }
+
+    // Records still in flight will be redelivered to the partition's next owner
+    private void forget(Collection<TopicPartition> revoked) {
+        for (TopicPartition tp : revoked) {
+            Partition partition = partitions.remove(tp);
+            if (partition != null) {
+                partition.detach();
+            }
+        }
+    }
+
+    public final class Partition {
+
+        private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+        private volatile long highestTracked = -1;
+        private volatile long lastCommitted = -1;
+        private volatile boolean detached;
+
+        private void track(long offset) {
+            pending.add(offset);
+            inFlight.incrementAndGet();
+            highestTracked = Math.max(highestTracked, offset);
+        }
+
+        public void complete(long offset) {
+            if (!detached && pending.remove(offset)) {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        // The offset to commit is that of the next record to read: the oldest unfinished one, or one past the last seen
+        private long committable() {
+            Long oldestPending = pending.ceiling(Long.MIN_VALUE);
+            long next = oldestPending != null ? oldestPending : highestTracked + 1;
+            return next > lastCommitted && highestTracked >= 0 ? next : -1;
+        }
+
+        private void committed(long offset) {
+            lastCommitted = Math.max(lastCommitted, offset);
+        }
+
+        private void detach() {
+            detached = true;
+            for (Long offset : pending) {
+                if (pending.remove(offset)) {
+                    inFlight.decrementAndGet();
+                }
+            }
+        }
+    }
+}
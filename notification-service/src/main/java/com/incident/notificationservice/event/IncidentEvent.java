@@ -14,6 +14,8 @@ public class IncidentEvent {
     private String incidentNumber;
     private String title;
     private String severity;
+    private Long teamId;
+    private String teamName;
     private String previousStatus;
     private String newStatus;
     private LocalDateTime timestamp;
@@ -0,0 +1,33 @@
+package com.incident.notificationservice.service;
+
+import java.time.Duration;
+
+/**
+ * Delivery channels. Each one gets its own executor, so a slow provider only delays its own messages.
+ * The defaults here can be overridden under {@code notification.channels.<name>}.
+ */
+public enum NotificationChannel {
+    EMAIL(4, Duration.ofSeconds(10)),
+    SMS(4, Duration.ofSeconds(5)),
+    SLACK(2, Duration.ofSeconds(5));
+
+    private final int defaultThreads;
+    private final Duration defaultTimeout;
+
+    NotificationChannel(int defaultThreads, Duration defaultTimeout) {
+        this.defaultThreads = defaultThreads;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    int defaultThreads() {
+        return defaultThreads;
+    }
+
+    Duration defaultTimeout() {
+        return defaultTimeout;
+    }
+}
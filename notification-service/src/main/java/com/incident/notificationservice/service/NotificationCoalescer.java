@@ -0,0 +1,215 @@
+package com.incident.notificationservice.service;
+
+import com.incident.notificationservice.event.IncidentEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Folds new-incident notifications into one digest per team and severity during an alert storm.
+ * The first event for a team and severity opens a window; events arriving before it closes join it,
+ * and when it closes one digest is sent for all of them. Severities listed as immediate bypass this.
+ * <p>
+ * A window keeps at most max-events-per-window events for the digest body and only counts the rest,
+ * so its memory does not grow with the size of the storm. Every event in a window shares the window's
+ * future, which completes once the digest has been delivered.
+ * <p>
+ * On shutdown the open windows are closed and their digests awaited, for at most shutdown-timeout,
+ * before the Kafka listener containers stop, so the events they hold can still be committed. Events
+ * offered after that are sent on their own straight away.
+ */
+@Component
+@DependsOn("notificationDispatcher")
+@Slf4j
+public class NotificationCoalescer implements SmartLifecycle {
+
+    public record Digest(String team, String severity, List<IncidentEvent> events, int total) {
+
+        public int omitted() {
+            return total - events.size();
+        }
+    }
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final Set<String> immediateSeverities;
+    private final int maxEventsPerWindow;
+    private final Duration shutdownTimeout;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary windowSize;
+    private volatile boolean running;
+    private volatile boolean stopping;
+
+    public NotificationCoalescer(MeterRegistry meterRegistry,
+                                 @Value("${notification.coalescing.enabled:true}") boolean enabled,
+                                 @Value("${notification.coalescing.window:60s}") Duration window,
+                                 @Value("${notification.coalescing.immediate-severities:P1}") Set<String> immediateSeverities,
+                                 @Value("${notification.coalescing.max-events-per-window:20}") int maxEventsPerWindow,
+                                 @Value("${notification.coalescing.shutdown-timeout:15s}") Duration shutdownTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.immediateSeverities = immediateSeverities;
+        this.maxEventsPerWindow = maxEventsPerWindow;
+        this.shutdownTimeout = shutdownTimeout;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.windowSize = DistributionSummary.builder("notification.coalescing.window.events")
+                .description("Events folded into each digest")
+                .register(meterRegistry);
+        Gauge.builder("notification.coalescing.open.windows", windows, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        stopping = true;
+        // Deliver what has been collected rather than drop it, and wait so its offsets can still be committed
+        List<CompletableFuture<Void>> pending = windows.values().stream().map(window -> window.delivered).toList();
+        windows.keySet().forEach(this::close);
+        scheduler.shutdownNow();
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                    .get(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("{} digests still undelivered after {} ms at shutdown",
+                    pending.stream().filter(delivered -> !delivered.isDone()).count(), shutdownTimeout.toMillis());
+        } catch (ExecutionException e) {
+            // Delivery failures have been logged by the dispatcher
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops before the listener containers (phase Integer.MAX_VALUE - 100), which stop before the dispatcher is destroyed
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    /** Whether the event should be notified on its own right away instead of joining a digest. */
+    public boolean isImmediate(IncidentEvent event) {
+        return !enabled || event.getSeverity() == null || immediateSeverities.contains(event.getSeverity());
+    }
+
+    /**
+     * Adds the event to the open window for its team and severity, opening one if needed. The window is
+     * handed to {@code send} when it closes; the returned future completes when that delivery settles.
+     */
+    public CompletableFuture<Void> offer(IncidentEvent event, Function<Digest, CompletableFuture<Void>> send) {
+        String team = event.getTeamName() != null ? event.getTeamName()
+                : event.getTeamId() != null ? "team-" + event.getTeamId() : "unassigned";
+        if (stopping) {
+            return send.apply(new Digest(team, event.getSeverity(), List.of(event), 1));
+        }
+        String key = team + "|" + event.getSeverity();
+        Window window = windows.compute(key, (k, open) -> {
+            if (open == null) {
+                open = new Window(team, event.getSeverity(), send);
+                try {
+                    scheduler.schedule(() -> close(k), windowMillis, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down; closed just below
+                }
+            }
+            open.add(event);
+            return open;
+        });
+        if (stopping) {
+            // Raced with stop(), which may already have closed the other windows
+            close(key);
+        }
+        return window.delivered;
+    }
+
+    private void close(String key) {
+        Window window = windows.remove(key);
+        if (window == null) {
+            return;
+        }
+        Digest digest = new Digest(window.team, window.severity, window.events, window.total);
+        windowSize.record(digest.total());
+        if (digest.total() > 1) {
+            // One notification per channel went out where there would have been one per event
+            Counter.builder("notification.coalescing.collapsed")
+                    .description("Events notified through a digest instead of on their own")
+                    .tag("severity", String.valueOf(digest.severity()))
+                    .register(meterRegistry)
+                    .increment(digest.total() - 1);
+            log.info("📦 Digest for {} {}: {} new incidents", digest.team(), digest.severity(), digest.total());
+        }
+        try {
+            window.send.apply(digest).whenComplete((ignored, e) -> {
+                if (e != null) {
+                    window.delivered.completeExceptionally(e);
+                } else {
+                    window.delivered.complete(null);
+                }
+            });
+        } catch (RuntimeException e) {
+            window.delivered.completeExceptionally(e);
+        }
+    }
+
+    // Only touched inside windows.compute, so additions are serialized with the window's removal
+    private final class Window {
+
+        private final String team;
+        private final String severity;
+        private final Function<Digest, CompletableFuture<Void>> send;
+        private final List<IncidentEvent> events = new ArrayList<>();
+        private final CompletableFuture<Void> delivered = new CompletableFuture<>();
+        private int total;
+
+        Window(String team, String severity, Function<Digest, CompletableFuture<Void>> send) {
+            this.team = team;
+            this.severity = severity;
+            this.send = send;
+        }
+
+        void add(IncidentEvent event) {
+            total++;
+            if (events.size() < maxEventsPerWindow) {
+                events.add(event);
+            }
+        }
+    }
+}
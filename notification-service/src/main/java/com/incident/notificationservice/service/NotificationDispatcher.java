@@ -0,0 +1,192 @@
+package com.incident.notificationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs deliveries on one bounded executor per {@link NotificationChannel}. {@link #dispatch} returns
+ * as soon as the delivery is queued and never blocks: when a channel's queue is full only that
+ * delivery fails, with a {@link RejectedExecutionException}, so one slow provider cannot hold up the
+ * other channels or the caller. Callers avoid this by pausing intake as the queues fill, see
+ * {@link #queueUtilisation()}. A delivery not finished within the channel timeout of starting to run is
+ * interrupted and its future fails with a {@link TimeoutException}; time spent queued does not count.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private final Map<NotificationChannel, ThreadPoolExecutor> executors = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, Duration> timeouts = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, Counter> timedOut = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, Counter> rejected = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, Map<String, Timer>> deliveryTimers = new EnumMap<>(NotificationChannel.class);
+    private final ScheduledThreadPoolExecutor timeoutScheduler;
+
+    public NotificationDispatcher(Environment environment, MeterRegistry meterRegistry) {
+        this.timeoutScheduler = new ScheduledThreadPoolExecutor(1, daemon("notification-timeouts"));
+        this.timeoutScheduler.setRemoveOnCancelPolicy(true);
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            String prefix = "notification.channels." + channel.key() + ".";
+            int threads = environment.getProperty(prefix + "threads", Integer.class, channel.defaultThreads());
+            int capacity = environment.getProperty(prefix + "queue-capacity", Integer.class, 1000);
+            String timeout = environment.getProperty(prefix + "timeout");
+            timeouts.put(channel, timeout == null ? channel.defaultTimeout() : DurationStyle.detectAndParse(timeout));
+
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacity), daemon("notify-" + channel.key()));
+            executors.put(channel, executor);
+            Gauge.builder("notification.channel.queued", executor, e -> e.getQueue().size())
+                    .tag("channel", channel.key())
+                    .register(meterRegistry);
+            timedOut.put(channel, Counter.builder("notification.delivery.timeouts")
+                    .tag("channel", channel.key())
+                    .register(meterRegistry));
+            rejected.put(channel, Counter.builder("notification.delivery.rejected")
+                    .description("Deliveries failed because the channel queue was full or shut down")
+                    .tag("channel", channel.key())
+                    .register(meterRegistry));
+            Gauge.builder("notification.channel.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .tag("channel", channel.key())
+                    .register(meterRegistry);
+            Map<String, Timer> timers = new HashMap<>();
+            for (String outcome : List.of("success", "failure", "timeout")) {
+                timers.put(outcome, Timer.builder("notification.delivery")
+                        .description("Time to deliver one notification, excluding time spent queued")
+                        .tag("channel", channel.key())
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            deliveryTimers.put(channel, timers);
+        }
+    }
+
+    /**
+     * Queues a delivery on the channel's executor without waiting. The future completes when the delivery
+     * finishes, fails or times out, and is already failed if the channel had no room for it.
+     */
+    public CompletableFuture<Void> dispatch(NotificationChannel channel, String incidentNumber, Runnable delivery) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> self = new AtomicReference<>();
+        Delivery task = new Delivery(() -> run(channel, incidentNumber, delivery, result, self.get()), result);
+        self.set(task);
+        try {
+            executors.get(channel).execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.get(channel).increment();
+            log.warn("🚫 {} delivery for {} rejected: queue full or shut down", channel, incidentNumber);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /** How full the fullest channel queue is, from 0 to 1. */
+    public double queueUtilisation() {
+        double fullest = 0;
+        for (ThreadPoolExecutor executor : executors.values()) {
+            int queued = executor.getQueue().size();
+            fullest = Math.max(fullest, (double) queued / (queued + executor.getQueue().remainingCapacity()));
+        }
+        return fullest;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+        for (Map.Entry<NotificationChannel, ThreadPoolExecutor> entry : executors.entrySet()) {
+            if (!entry.getValue().awaitTermination(timeouts.get(entry.getKey()).toMillis(), TimeUnit.MILLISECONDS)) {
+                List<Runnable> dropped = entry.getValue().shutdownNow();
+                dropped.forEach(task -> ((Future<?>) task).cancel(false));
+                log.warn("{} deliveries still queued at shutdown were dropped", dropped.size());
+            }
+        }
+        timeoutScheduler.shutdownNow();
+    }
+
+    // The deadline is set when the delivery starts, so a long queue does not time out work that never ran
+    private void run(NotificationChannel channel, String incidentNumber, Runnable delivery,
+                     CompletableFuture<Void> result, Future<?> task) {
+        Duration timeout = timeouts.get(channel);
+        ScheduledFuture<?> deadline = timeoutScheduler.schedule(() -> {
+            if (result.completeExceptionally(
+                    new TimeoutException(channel + " delivery exceeded " + timeout.toMillis() + " ms"))) {
+                log.warn("⏱️ {} delivery for {} timed out after {} ms", channel, incidentNumber, timeout.toMillis());
+                timedOut.get(channel).increment();
+                task.cancel(true);
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        RuntimeException error = null;
+        try {
+            delivery.run();
+        } catch (RuntimeException e) {
+            error = e;
+        } finally {
+            deadline.cancel(false);
+        }
+        // A timed-out delivery may still return once interrupted; the caller has already seen the timeout
+        String outcome = result.isDone() ? "timeout" : error == null ? "success" : "failure";
+        deliveryTimers.get(channel).get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (error == null) {
+            result.complete(null);
+        } else {
+            log.error("❌ {} delivery for {} failed: {}", channel, incidentNumber, error.getMessage());
+            result.completeExceptionally(error);
+        }
+    }
+
+    // Fails the caller's future when the delivery is cancelled before it ran, e.g. dropped at shutdown
+    private static final class Delivery extends FutureTask<Void> {
+
+        private final CompletableFuture<Void> result;
+
+        Delivery(Runnable body, CompletableFuture<Void> result) {
+            super(body, null);
+            this.result = result;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                result.completeExceptionally(new CancellationException("Delivery cancelled"));
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger number = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, name + "-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
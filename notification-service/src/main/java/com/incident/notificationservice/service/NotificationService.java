@@ -5,6 +5,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -13,56 +17,127 @@ public class NotificationService {
     private final EmailService emailService;
     private final SmsService smsService;
     private final SlackService slackService;
+    private final NotificationDispatcher dispatcher;
+    private final NotificationCoalescer coalescer;
 
-    public void processEvent(IncidentEvent event) {
+    /**
+     * Queues the event's notifications on their channels and returns without waiting for delivery.
+     * The returned future completes once every channel has delivered, failed or timed out, and fails
+     * if any of them did not deliver.
+     */
+    public CompletableFuture<Void> processEvent(IncidentEvent event) {
         log.info("Processing event: {} for incident: {}", event.getEventType(), event.getIncidentNumber());
 
+        if ("CREATED".equals(event.getEventType()) && !coalescer.isImmediate(event)) {
+            return coalescer.offer(event, this::sendDigest);
+        }
+
+        Deliveries deliveries = new Deliveries(event.getIncidentNumber());
         switch (event.getEventType()) {
-            case "CREATED" -> handleCreated(event);
-            case "ACKNOWLEDGED" -> handleAcknowledged(event);
-            case "RESOLVED" -> handleResolved(event);
-            case "ESCALATED" -> handleEscalated(event);
-            case "CLOSED" -> handleClosed(event);
+            case "CREATED" -> handleCreated(event, deliveries);
+            case "ACKNOWLEDGED" -> handleAcknowledged(event, deliveries);
+            case "RESOLVED" -> handleResolved(event, deliveries);
+            case "ESCALATED" -> handleEscalated(event, deliveries);
+            case "CLOSED" -> handleClosed(event, deliveries);
             default -> log.info("No notification for event type: {}", event.getEventType());
         }
+        return deliveries.allSettled();
     }
 
-    private void handleCreated(IncidentEvent event) {
+    private void handleCreated(IncidentEvent event, Deliveries deliveries) {
         String subject = String.format("🚨 NEW INCIDENT: %s [%s]", event.getIncidentNumber(), event.getSeverity());
         String body = String.format("Incident: %s\nTitle: %s\nSeverity: %s\nStatus: %s",
                 event.getIncidentNumber(), event.getTitle(), event.getSeverity(), event.getNewStatus());
 
-        emailService.sendEmail("oncall-team@company.com", subject, body);
-        smsService.sendSms("+91-9999999999", subject);
-        slackService.sendSlackMessage("#incidents", body);
+        deliveries.email("oncall-team@company.com", subject, body);
+        deliveries.sms("+91-9999999999", subject);
+        deliveries.slack("#incidents", body);
     }
 
-    private void handleAcknowledged(IncidentEvent event) {
+    // A window that caught a single event is sent as the usual new-incident notification
+    private CompletableFuture<Void> sendDigest(NotificationCoalescer.Digest digest) {
+        if (digest.total() == 1) {
+            IncidentEvent event = digest.events().get(0);
+            Deliveries deliveries = new Deliveries(event.getIncidentNumber());
+            handleCreated(event, deliveries);
+            return deliveries.allSettled();
+        }
+
+        String subject = String.format("🚨 %d NEW %s INCIDENTS for %s", digest.total(), digest.severity(), digest.team());
+        StringBuilder body = new StringBuilder(subject).append('\n');
+        for (IncidentEvent event : digest.events()) {
+            body.append(String.format("%s - %s%n", event.getIncidentNumber(), event.getTitle()));
+        }
+        if (digest.omitted() > 0) {
+            body.append(String.format("...and %d more%n", digest.omitted()));
+        }
+
+        Deliveries deliveries = new Deliveries("digest " + digest.team() + "/" + digest.severity());
+        deliveries.email("oncall-team@company.com", subject, body.toString());
+        deliveries.sms("+91-9999999999", subject);
+        deliveries.slack("#incidents", body.toString());
+        return deliveries.allSettled();
+    }
+
+    private void handleAcknowledged(IncidentEvent event, Deliveries deliveries) {
         String message = String.format("✅ ACKNOWLEDGED: %s - %s", event.getIncidentNumber(), event.getTitle());
-        slackService.sendSlackMessage("#incidents", message);
+        deliveries.slack("#incidents", message);
     }
 
-    private void handleResolved(IncidentEvent event) {
+    private void handleResolved(IncidentEvent event, Deliveries deliveries) {
         String subject = String.format("✅ RESOLVED: %s", event.getIncidentNumber());
         String body = String.format("Incident %s has been resolved.\nTitle: %s",
                 event.getIncidentNumber(), event.getTitle());
 
-        emailService.sendEmail("oncall-team@company.com", subject, body);
-        slackService.sendSlackMessage("#incidents", body);
+        deliveries.email("oncall-team@company.com", subject, body);
+        deliveries.slack("#incidents", body);
     }
 
-    private void handleEscalated(IncidentEvent event) {
+    private void handleEscalated(IncidentEvent event, Deliveries deliveries) {
         String subject = String.format("⚠️ ESCALATED: %s [%s]", event.getIncidentNumber(), event.getSeverity());
         String body = String.format("URGENT! Incident escalated!\nIncident: %s\nTitle: %s\nSeverity: %s",
                 event.getIncidentNumber(), event.getTitle(), event.getSeverity());
 
-        emailService.sendEmail("manager@company.com", subject, body);
-        smsService.sendSms("+91-8888888888", subject);
-        slackService.sendSlackMessage("#incidents-urgent", body);
+        deliveries.email("manager@company.com", subject, body);
+        deliveries.sms("+91-8888888888", subject);
+        deliveries.slack("#incidents-urgent", body);
     }
 
-    private void handleClosed(IncidentEvent event) {
+    private void handleClosed(IncidentEvent event, Deliveries deliveries) {
         String message = String.format("📁 CLOSED: %s - %s", event.getIncidentNumber(), event.getTitle());
-        slackService.sendSlackMessage("#incidents", message);
+        deliveries.slack("#incidents", message);
+    }
+
+    // Collects one event's deliveries, each handed to its channel on its own without waiting; a failed or
+    // rejected channel does not stop the others but fails the event
+    private final class Deliveries {
+
+        private final String incidentNumber;
+        private final List<CompletableFuture<Void>> futures = new ArrayList<>(3);
+
+        Deliveries(String incidentNumber) {
+            this.incidentNumber = incidentNumber;
+        }
+
+        void email(String to, String subject, String body) {
+            add(NotificationChannel.EMAIL, () -> emailService.sendEmail(to, subject, body));
+        }
+
+        void sms(String phoneNumber, String message) {
+            add(NotificationChannel.SMS, () -> smsService.sendSms(phoneNumber, message));
+        }
+
+        void slack(String channel, String message) {
+            add(NotificationChannel.SLACK, () -> slackService.sendSlackMessage(channel, message));
+        }
+
+        private void add(NotificationChannel channel, Runnable delivery) {
+            futures.add(dispatcher.dispatch(channel, incidentNumber, delivery));
+        }
+
+        // allOf waits for every channel to settle before failing with the first error
+        CompletableFuture<Void> allSettled() {
+            return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+        }
     }
-}
\ No newline at end of file
+}
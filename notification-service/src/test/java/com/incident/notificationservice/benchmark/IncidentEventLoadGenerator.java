@@ -0,0 +1,177 @@
+package com.incident.notificationservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.notificationservice.event.IncidentEvent;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes synthetic incident events to a dedicated topic, then waits for a running notification-service
+ * to catch up and prints send rate, consume rate and end-to-end lag, read from its actuator metrics.
+ * <p>
+ * Point the service at the load topic, so nothing else ever sees the synthetic events:
+ * <pre>{@code
+ * NOTIFICATION_TOPIC=incident-event-load mvn spring-boot:run
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.incident.notificationservice.benchmark.IncidentEventLoadGenerator \
+ *     -Dexec.args="--events=200000 --incidents=1000"
+ * }</pre>
+ * The default event type, UPDATED, has no notification handler, so the run measures consumption rather
+ * than the channel executors; use {@code --event-type=CREATED} to push the deliveries through as well.
+ * Options (defaults in brackets): {@code --bootstrap-servers} [localhost:9092], {@code --topic}
+ * [incident-event-load], {@code --events} [100000], {@code --rate} [0, unthrottled], {@code --incidents} [1000],
+ * {@code --event-type} [UPDATED], {@code --metrics-url} [http://localhost:8082/actuator/metrics],
+ * {@code --drain-timeout} [120s].
+ */
+public class IncidentEventLoadGenerator {
+
+    private static final String LIVE_TOPIC = "incident-event";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        if (LIVE_TOPIC.equals(options.topic)) {
+            throw new IllegalArgumentException("Refusing to publish synthetic events to " + LIVE_TOPIC + "; use a dedicated topic");
+        }
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        double consumedBefore = metric(client, options, "notification.events.consumed", "COUNT");
+
+        System.out.printf("Publishing %d events over %d incidents to %s%s%n", options.events, options.incidents,
+                options.topic, options.rate > 0 ? " at " + options.rate + "/s" : "");
+        long start = System.nanoTime();
+        try (KafkaProducer<String, IncidentEvent> producer = new KafkaProducer<>(producerConfig(options))) {
+            long intervalNanos = options.rate > 0 ? TimeUnit.SECONDS.toNanos(1) / options.rate : 0;
+            for (int i = 0; i < options.events; i++) {
+                if (intervalNanos > 0) {
+                    long wait = start + i * intervalNanos - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                IncidentEvent event = syntheticEvent(options, i);
+                // Keyed like incident-service so per-incident ordering matches production
+                producer.send(new ProducerRecord<>(options.topic, event.getIncidentNumber(), event));
+            }
+            producer.flush();
+        }
+        long sent = System.nanoTime();
+        System.out.printf("Published %d events in %d ms (%d events/s)%n", options.events,
+                TimeUnit.NANOSECONDS.toMillis(sent - start), rate(options.events, sent - start));
+
+        long deadline = sent + options.drainTimeout.toNanos();
+        double received = 0;
+        while (System.nanoTime() < deadline) {
+            received = metric(client, options, "notification.events.consumed", "COUNT") - consumedBefore;
+            if (received >= options.events) {
+                break;
+            }
+            Thread.sleep(500);
+        }
+        long drained = System.nanoTime();
+        System.out.printf("Consumed %d of %d events in %d ms (%d events/s), event lag max %.0f ms%n",
+                (long) received, options.events, TimeUnit.NANOSECONDS.toMillis(drained - start),
+                rate((long) received, drained - start), metric(client, options, "notification.event.lag", "MAX") * 1000);
+        if (received < options.events) {
+            System.out.printf("Consumer did not catch up within %ds; raise the concurrency or partitions%n",
+                    options.drainTimeout.toSeconds());
+        }
+    }
+
+    private static Map<String, Object> producerConfig(Options options) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, options.bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 10);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        return config;
+    }
+
+    // Shaped like incident-service's events; incidentId is left out so no id can be taken for a real incident
+    private static IncidentEvent syntheticEvent(Options options, int i) {
+        String incidentNumber = String.format("LOAD-%05d", i % options.incidents);
+        return IncidentEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(options.eventType)
+                .incidentNumber(incidentNumber)
+                .title("Synthetic incident " + incidentNumber)
+                .severity("P" + (1 + i % 4))
+                .teamName("load-test")
+                .newStatus("TRIGGERED")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    // Reads one statistic of a meter from the actuator; 0 when the meter has not been registered yet
+    private static double metric(HttpClient client, Options options, String name, String statistic) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(options.metricsUrl + "/" + name))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return 0;
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Reading " + name + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        for (JsonNode measurement : JSON.readTree(response.body()).path("measurements")) {
+            if (statistic.equals(measurement.path("statistic").asText())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return 0;
+    }
+
+    private static long rate(long count, long nanos) {
+        return nanos == 0 ? count : count * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    private static final class Options {
+        String bootstrapServers = "localhost:9092";
+        String topic = "incident-event-load";
+        int events = 100_000;
+        int rate;
+        int incidents = 1000;
+        String eventType = "UPDATED";
+        String metricsUrl = "http://localhost:8082/actuator/metrics";
+        Duration drainTimeout = Duration.ofSeconds(120);
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                String value = pair.length > 1 ? pair[1] : "";
+                switch (pair[0]) {
+                    case "bootstrap-servers" -> options.bootstrapServers = value;
+                    case "topic" -> options.topic = value;
+                    case "events" -> options.events = Integer.parseInt(value);
+                    case "rate" -> options.rate = Integer.parseInt(value);
+                    case "incidents" -> options.incidents = Integer.parseInt(value);
+                    case "event-type" -> options.eventType = value;
+                    case "metrics-url" -> options.metricsUrl = value;
+                    case "drain-timeout" -> options.drainTimeout = Duration.parse("PT" + value.toUpperCase());
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.incident.notificationservice.consumer;
+
+import com.incident.notificationservice.event.IncidentEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeadLetterPublisherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, IncidentEvent> kafkaTemplate = mock(KafkaTemplate.class);
+    private final DeadLetterPublisher publisher = new DeadLetterPublisher(kafkaTemplate, meterRegistry,
+            Duration.ofMillis(10), Duration.ofMillis(20));
+    private final ConsumerRecord<String, IncidentEvent> record = new ConsumerRecord<>("incident-event", 0, 7L,
+            "INC-1", IncidentEvent.builder().eventType("CREATED").incidentNumber("INC-1").build());
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publish_RetriesWithBackoffUntilTheBrokerAcceptsTheDeadLetter() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker down")))
+                .thenThrow(new KafkaException("buffer exhausted"))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        publisher.publish(record, new IllegalStateException("smtp down")).get(5, TimeUnit.SECONDS);
+
+        verify(kafkaTemplate, times(3)).send(any(ProducerRecord.class));
+        assertThat(meterRegistry.counter("notification.dead.letter.retries").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("notification.events.dead.lettered").count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publish_FailsOnlyOnceShutDown() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker down")));
+        publisher.shutdown();
+
+        CompletableFuture<Void> written = publisher.publish(record, new IllegalStateException("smtp down"));
+
+        assertThat(written).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,128 @@
+package com.incident.notificationservice.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EventDeduplicatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<EventDeduplicator> deduplicators = new ArrayList<>();
+
+    @TempDir
+    Path snapshotDir;
+
+    @AfterEach
+    void tearDown() {
+        deduplicators.forEach(EventDeduplicator::shutdown);
+    }
+
+    @Test
+    void begin_RejectsAnEventAlreadyProcessed() {
+        EventDeduplicator deduplicator = deduplicator(Duration.ofHours(1), 200_000, "");
+        process(deduplicator, "evt-1");
+
+        EventDeduplicator.Claim claim = deduplicator.begin("evt-1");
+
+        assertThat(claim.granted()).isFalse();
+        assertThat(claim.settled()).isCompleted();
+    }
+
+    @Test
+    void begin_GrantsAgainAfterTheFirstAttemptFailed() {
+        EventDeduplicator deduplicator = deduplicator(Duration.ofHours(1), 200_000, "");
+        assertThat(deduplicator.begin("evt-1").granted()).isTrue();
+        deduplicator.finish("evt-1", false);
+
+        assertThat(deduplicator.begin("evt-1").granted()).isTrue();
+    }
+
+    @Test
+    void begin_LetsACopyInFlightShareTheOriginalsOutcome() {
+        EventDeduplicator deduplicator = deduplicator(Duration.ofHours(1), 200_000, "");
+        assertThat(deduplicator.begin("evt-1").granted()).isTrue();
+
+        EventDeduplicator.Claim copy = deduplicator.begin("evt-1");
+        assertThat(copy.granted()).isFalse();
+        assertThat(copy.settled()).isNotDone();
+
+        deduplicator.finish("evt-1", true);
+        assertThat(copy.settled()).isCompleted();
+    }
+
+    @Test
+    void begin_FailsACopyInFlightWhenTheOriginalIsAbandoned() {
+        EventDeduplicator deduplicator = deduplicator(Duration.ofHours(1), 200_000, "");
+        deduplicator.begin("evt-1");
+        CompletableFuture<Void> copy = deduplicator.begin("evt-1").settled();
+
+        deduplicator.abandon("evt-1", new IllegalStateException("dead letter failed"));
+
+        assertThat(copy).isCompletedExceptionally();
+        assertThat(deduplicator.begin("evt-1").granted()).isTrue();
+    }
+
+    @Test
+    void begin_ForgetsTheOldestIdsEarlyOnceTheExactWindowIsFull() {
+        EventDeduplicator deduplicator = deduplicator(Duration.ofHours(1), 2, "");
+        process(deduplicator, "evt-1");
+        process(deduplicator, "evt-2");
+
+        process(deduplicator, "evt-3");
+
+        assertThat(deduplicator.begin("evt-1").granted()).isTrue();
+        assertThat(meterRegistry.get("notification.dedup.entries").gauge().value()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void begin_ForgetsIdsOnceTheExactWindowHasPassed() throws InterruptedException {
+        EventDeduplicator deduplicator = deduplicator(Duration.ofMillis(300), 200_000, "");
+        process(deduplicator, "evt-1");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        boolean granted = false;
+        while (!granted && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            granted = deduplicator.begin("evt-1").granted();
+        }
+
+        assertThat(granted).isTrue();
+    }
+
+    @Test
+    void restore_RecognisesIdsSavedByThePreviousRun() {
+        String snapshot = snapshotDir.resolve("dedup.bin").toString();
+        EventDeduplicator first = deduplicator(Duration.ofHours(1), 200_000, snapshot);
+        process(first, "evt-1");
+        process(first, "evt-2");
+        first.shutdown();
+
+        EventDeduplicator restarted = deduplicator(Duration.ofHours(1), 200_000, snapshot);
+
+        assertThat(restarted.begin("evt-1").granted()).isFalse();
+        assertThat(restarted.begin("evt-2").granted()).isFalse();
+        assertThat(restarted.begin("evt-3").granted()).isTrue();
+    }
+
+    private static void process(EventDeduplicator deduplicator, String eventId) {
+        assertThat(deduplicator.begin(eventId).granted()).isTrue();
+        deduplicator.finish(eventId, true);
+    }
+
+    private EventDeduplicator deduplicator(Duration exactWindow, int maxExactEntries, String snapshotFile) {
+        EventDeduplicator deduplicator = new EventDeduplicator(meterRegistry, true, exactWindow, 3, maxExactEntries,
+                snapshotFile, Duration.ofMinutes(5));
+        deduplicators.add(deduplicator);
+        return deduplicator;
+    }
+}
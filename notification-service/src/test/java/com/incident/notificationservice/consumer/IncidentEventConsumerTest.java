@@ -0,0 +1,134 @@
+package com.incident.notificationservice.consumer;
+
+import com.incident.notificationservice.event.IncidentEvent;
+import com.incident.notificationservice.service.NotificationDispatcher;
+import com.incident.notificationservice.service.NotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IncidentEventConsumerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+    private final KeyOrderedExecutor keyOrderedExecutor = new KeyOrderedExecutor(meterRegistry, 1);
+    private final PartitionOffsetTracker offsetTracker = new PartitionOffsetTracker(meterRegistry);
+    private final EventDeduplicator deduplicator = new EventDeduplicator(meterRegistry, false, Duration.ofHours(1), 6,
+            1000, "", Duration.ofSeconds(30));
+    private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+    private final MockConsumer<String, IncidentEvent> kafkaConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        keyOrderedExecutor.shutdown();
+        deduplicator.shutdown();
+    }
+
+    @Test
+    void consume_PausesTheContainerWhenTooManyRecordsAreInFlightAndResumesOnceDrained() {
+        IncidentEventConsumer consumer = consumer(2, 1);
+        when(notificationService.processEvent(any())).thenAnswer(invocation -> {
+            CompletableFuture<Void> delivery = new CompletableFuture<>();
+            deliveries.add(delivery);
+            return delivery;
+        });
+
+        consumer.consume(records(0, 1), kafkaConsumer);
+        verify(container, never()).pause();
+
+        consumer.consume(records(2), kafkaConsumer);
+        verify(container).pause();
+
+        deliveries.get(0).complete(null);
+        verify(container, never()).resume();
+        deliveries.get(1).complete(null);
+        verify(container).resume();
+
+        // The listener thread was never held up while waiting
+        assertThat(offsetTracker.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void consume_PausesWhileTheChannelQueuesAreFullEvenWithFewRecordsInFlight() {
+        IncidentEventConsumer consumer = consumer(100, 50);
+        when(notificationService.processEvent(any())).thenAnswer(invocation -> {
+            CompletableFuture<Void> delivery = new CompletableFuture<>();
+            deliveries.add(delivery);
+            return delivery;
+        });
+        when(dispatcher.queueUtilisation()).thenReturn(0.6);
+
+        consumer.consume(records(0, 1), kafkaConsumer);
+        verify(container).pause();
+
+        // The record finishing is not enough while the queues are still above the resume level
+        deliveries.get(0).complete(null);
+        verify(container, never()).resume();
+
+        when(dispatcher.queueUtilisation()).thenReturn(0.2);
+        deliveries.get(1).complete(null);
+        verify(container).resume();
+    }
+
+    @Test
+    void consume_CommitsAnInFlightDuplicateOnlyOnceTheOriginalHasSettled() {
+        EventDeduplicator enabled = new EventDeduplicator(meterRegistry, true, Duration.ofHours(1), 6,
+                1000, "", Duration.ofSeconds(30));
+        IncidentEventConsumer consumer = new IncidentEventConsumer(notificationService, dispatcher, keyOrderedExecutor,
+                offsetTracker, enabled, mock(DeadLetterPublisher.class), mock(KafkaListenerEndpointRegistry.class),
+                meterRegistry, false, 100, 50, 0.5, 0.25);
+        CompletableFuture<Void> delivery = new CompletableFuture<>();
+        when(notificationService.processEvent(any())).thenReturn(delivery);
+        List<ConsumerRecord<String, IncidentEvent>> records = records(0, 1);
+        records.forEach(record -> record.value().setEventId("evt-1"));
+
+        try {
+            consumer.consume(records, kafkaConsumer);
+
+            verify(notificationService, times(1)).processEvent(any());
+            assertThat(offsetTracker.inFlight()).isEqualTo(2);
+            delivery.complete(null);
+            assertThat(offsetTracker.inFlight()).isZero();
+        } finally {
+            enabled.shutdown();
+        }
+    }
+
+    private IncidentEventConsumer consumer(int maxInFlight, int resumeInFlight) {
+        KafkaListenerEndpointRegistry registry = mock(KafkaListenerEndpointRegistry.class);
+        when(registry.getListenerContainer(IncidentEventConsumer.LISTENER_ID)).thenReturn(container);
+        return new IncidentEventConsumer(notificationService, dispatcher, keyOrderedExecutor, offsetTracker,
+                deduplicator, mock(DeadLetterPublisher.class), registry, meterRegistry, false, maxInFlight,
+                resumeInFlight, 0.5, 0.25);
+    }
+
+    private List<ConsumerRecord<String, IncidentEvent>> records(long... offsets) {
+        kafkaConsumer.assign(List.of(new TopicPartition("incident-event", 0)));
+        List<ConsumerRecord<String, IncidentEvent>> records = new ArrayList<>();
+        for (long offset : offsets) {
+            String incidentNumber = "INC-" + offset;
+            records.add(new ConsumerRecord<>("incident-event", 0, offset, incidentNumber, IncidentEvent.builder()
+                    .eventType("ACKNOWLEDGED")
+                    .incidentNumber(incidentNumber)
+                    .build()));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,77 @@
+package com.incident.notificationservice.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor(new SimpleMeterRegistry(), 2);
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_StartsATaskOnlyOnceThePreviousOneForItsKeyHasCompleted() throws InterruptedException {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        executor.submit("INC-1", task("first", first));
+        executor.submit("INC-1", task("second", second));
+        CompletableFuture<Void> third = executor.submit("INC-1", task("third", CompletableFuture.completedFuture(null)));
+
+        assertThat(started).containsExactly("first");
+        first.complete(null);
+        awaitStarted(2);
+        assertThat(third).isNotDone();
+
+        second.complete(null);
+        assertThat(third).succeedsWithin(1, TimeUnit.SECONDS);
+        assertThat(started).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void submit_RunsDifferentKeysConcurrently() {
+        executor.submit("INC-1", task("INC-1", new CompletableFuture<>()));
+        executor.submit("INC-2", task("INC-2", new CompletableFuture<>()));
+
+        assertThat(started).containsExactly("INC-1", "INC-2");
+    }
+
+    @Test
+    void submit_ContinuesWithTheNextTaskAfterAFailure() {
+        CompletableFuture<Void> failed = executor.submit("INC-1",
+                task("failing", CompletableFuture.failedFuture(new IllegalStateException("boom"))));
+        CompletableFuture<Void> next = executor.submit("INC-1", task("next", CompletableFuture.completedFuture(null)));
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(next).succeedsWithin(1, TimeUnit.SECONDS);
+        assertThat(started).containsExactly("failing", "next");
+    }
+
+    // Later tasks for a busy key start on the executor's own threads
+    private void awaitStarted(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (started.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(started).hasSize(count);
+    }
+
+    private Supplier<CompletableFuture<Void>> task(String name, CompletableFuture<Void> completion) {
+        return () -> {
+            started.add(name);
+            return completion;
+        };
+    }
+}
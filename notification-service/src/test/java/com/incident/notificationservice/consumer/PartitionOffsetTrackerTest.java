@@ -0,0 +1,103 @@
+package com.incident.notificationservice.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PartitionOffsetTrackerTest {
+
+    private final TopicPartition partition0 = new TopicPartition("incident-event", 0);
+    private final PartitionOffsetTracker tracker = new PartitionOffsetTracker(new SimpleMeterRegistry());
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+
+    @BeforeEach
+    void setUp() {
+        consumer.assign(List.of(partition0));
+    }
+
+    @Test
+    void commit_OnlyAdvancesPastTheOldestUnfinishedRecord() {
+        PartitionOffsetTracker.Partition partition = track(0, 1, 2);
+        partition.complete(2);
+        partition.complete(0);
+
+        tracker.commit(consumer);
+        assertThat(committed()).isEqualTo(1);
+
+        partition.complete(1);
+        tracker.commit(consumer);
+        assertThat(committed()).isEqualTo(3);
+        assertThat(tracker.inFlight()).isZero();
+    }
+
+    @Test
+    void commit_StaysAtAnUnfinishedFirstRecordWhateverFinishesAfterIt() {
+        PartitionOffsetTracker.Partition partition = track(0, 1, 2);
+        partition.complete(1);
+        partition.complete(2);
+
+        tracker.commit(consumer);
+        assertThat(committed()).isZero();
+
+        partition.complete(0);
+        tracker.commit(consumer);
+        assertThat(committed()).isEqualTo(3);
+    }
+
+    @Test
+    void onPartitionsRevoked_CommitsTheFinishedPrefixAndDetaches() {
+        PartitionOffsetTracker.Partition partition = track(5, 6, 7);
+        partition.complete(5);
+
+        tracker.onPartitionsRevokedBeforeCommit(consumer, List.of(partition0));
+
+        assertThat(committed()).isEqualTo(6);
+        assertThat(tracker.inFlight()).isZero();
+        // Completions arriving after the revocation no longer move anything
+        partition.complete(6);
+        partition.complete(7);
+        tracker.commit(consumer);
+        assertThat(committed()).isEqualTo(6);
+    }
+
+    @Test
+    void onPartitionsLost_DropsInFlightRecordsWithoutCommitting() {
+        PartitionOffsetTracker.Partition lost = track(0, 1);
+
+        tracker.onPartitionsLost(consumer, List.of(partition0));
+        lost.complete(0);
+        lost.complete(1);
+
+        assertThat(tracker.inFlight()).isZero();
+        tracker.commit(consumer);
+        assertThat(consumer.committed(Set.of(partition0))).isEmpty();
+
+        // A later assignment of the same partition starts afresh
+        tracker.track(partition0, 10).complete(10);
+        tracker.commit(consumer);
+        assertThat(committed()).isEqualTo(11);
+    }
+
+    private PartitionOffsetTracker.Partition track(long... offsets) {
+        PartitionOffsetTracker.Partition partition = null;
+        for (long offset : offsets) {
+            partition = tracker.track(partition0, offset);
+        }
+        return partition;
+    }
+
+    private long committed() {
+        OffsetAndMetadata offset = consumer.committed(Set.of(partition0)).get(partition0);
+        assertThat(offset).isNotNull();
+        return offset.offset();
+    }
+}
@@ -0,0 +1,124 @@
+package com.incident.notificationservice.service;
+
+import com.incident.notificationservice.event.IncidentEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NotificationCoalescerTest {
+
+    private final List<NotificationCoalescer.Digest> sent = new CopyOnWriteArrayList<>();
+    private NotificationCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void offer_CollectsEventsUntilTheWindowClosesAndSendsOneDigest() {
+        coalescer = coalescer(true, Duration.ofMillis(200), 20);
+
+        CompletableFuture<Void> first = coalescer.offer(event("INC-1", "P2", "payments"), this::send);
+        CompletableFuture<Void> second = coalescer.offer(event("INC-2", "P2", "payments"), this::send);
+        assertThat(sent).isEmpty();
+
+        assertThat(first).succeedsWithin(2, TimeUnit.SECONDS);
+        assertThat(second).isSameAs(first);
+        assertThat(sent).singleElement().satisfies(digest -> {
+            assertThat(digest.team()).isEqualTo("payments");
+            assertThat(digest.severity()).isEqualTo("P2");
+            assertThat(digest.events()).extracting(IncidentEvent::getIncidentNumber).containsExactly("INC-1", "INC-2");
+        });
+    }
+
+    @Test
+    void offer_KeepsSeparateWindowsPerTeamAndSeverity() {
+        coalescer = coalescer(true, Duration.ofMillis(100), 20);
+
+        CompletableFuture<Void> payments = coalescer.offer(event("INC-1", "P2", "payments"), this::send);
+        CompletableFuture<Void> paymentsP3 = coalescer.offer(event("INC-2", "P3", "payments"), this::send);
+        CompletableFuture<Void> search = coalescer.offer(event("INC-3", "P2", "search"), this::send);
+
+        assertThat(CompletableFuture.allOf(payments, paymentsP3, search)).succeedsWithin(2, TimeUnit.SECONDS);
+        assertThat(sent).hasSize(3).allSatisfy(digest -> assertThat(digest.total()).isEqualTo(1));
+    }
+
+    @Test
+    void offer_ListsAtMostMaxEventsAndCountsTheRest() {
+        coalescer = coalescer(true, Duration.ofMillis(100), 2);
+
+        CompletableFuture<Void> delivered = null;
+        for (int i = 1; i <= 5; i++) {
+            delivered = coalescer.offer(event("INC-" + i, "P3", "payments"), this::send);
+        }
+
+        assertThat(delivered).succeedsWithin(2, TimeUnit.SECONDS);
+        assertThat(sent).singleElement().satisfies(digest -> {
+            assertThat(digest.events()).hasSize(2);
+            assertThat(digest.total()).isEqualTo(5);
+            assertThat(digest.omitted()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void isImmediate_BypassesCoalescingForImmediateSeveritiesOrWhenDisabled() {
+        coalescer = coalescer(true, Duration.ofSeconds(60), 20);
+        assertThat(coalescer.isImmediate(event("INC-1", "P1", "payments"))).isTrue();
+        assertThat(coalescer.isImmediate(event("INC-2", null, "payments"))).isTrue();
+        assertThat(coalescer.isImmediate(event("INC-3", "P2", "payments"))).isFalse();
+        coalescer.stop();
+
+        coalescer = coalescer(false, Duration.ofSeconds(60), 20);
+        assertThat(coalescer.isImmediate(event("INC-4", "P2", "payments"))).isTrue();
+    }
+
+    @Test
+    void stop_DeliversOpenWindowsAndWaitsForThem() {
+        coalescer = coalescer(true, Duration.ofSeconds(60), 20);
+        CompletableFuture<Void> slowDelivery = new CompletableFuture<>();
+        CompletableFuture<Void> delivered = coalescer.offer(event("INC-1", "P2", "payments"), digest -> {
+            sent.add(digest);
+            CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS).execute(() -> slowDelivery.complete(null));
+            return slowDelivery;
+        });
+
+        coalescer.stop();
+
+        assertThat(sent).hasSize(1);
+        assertThat(delivered).isCompleted();
+        // Anything arriving after shutdown began goes out on its own
+        assertThat(coalescer.offer(event("INC-2", "P2", "payments"), this::send)).isCompleted();
+        assertThat(sent).hasSize(2);
+    }
+
+    private CompletableFuture<Void> send(NotificationCoalescer.Digest digest) {
+        sent.add(digest);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static NotificationCoalescer coalescer(boolean enabled, Duration window, int maxEvents) {
+        NotificationCoalescer coalescer = new NotificationCoalescer(new SimpleMeterRegistry(), enabled, window,
+                Set.of("P1"), maxEvents, Duration.ofSeconds(5));
+        coalescer.start();
+        return coalescer;
+    }
+
+    private static IncidentEvent event(String incidentNumber, String severity, String team) {
+        return IncidentEvent.builder()
+                .eventType("CREATED")
+                .incidentNumber(incidentNumber)
+                .severity(severity)
+                .teamName(team)
+                .build();
+    }
+}
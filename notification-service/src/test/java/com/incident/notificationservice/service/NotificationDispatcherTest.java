@@ -0,0 +1,122 @@
+package com.incident.notificationservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        // One thread and one queue slot, so a third concurrent delivery finds no room
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notification.channels.slack.threads", "1")
+                .withProperty("notification.channels.slack.queue-capacity", "1")
+                .withProperty("notification.channels.slack.timeout", "300ms");
+        dispatcher = new NotificationDispatcher(environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_FailsOnlyTheDeliveryThatFindsItsChannelFullWithoutBlocking() {
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(NotificationChannel.SLACK, "INC-1", () -> await(release));
+        CompletableFuture<Void> queued = dispatcher.dispatch(NotificationChannel.SLACK, "INC-2", () -> { });
+        assertThat(dispatcher.queueUtilisation()).isEqualTo(1.0);
+
+        CompletableFuture<Void> rejected = dispatcher.dispatch(NotificationChannel.SLACK, "INC-3", () -> { });
+        CompletableFuture<Void> otherChannel = dispatcher.dispatch(NotificationChannel.SMS, "INC-3", () -> { });
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(otherChannel).succeedsWithin(1, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("notification.delivery.rejected").tag("channel", "slack").counter().count())
+                .isEqualTo(1);
+        release.countDown();
+        assertThat(queued).succeedsWithin(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void dispatch_FailsDeliveriesOnceShutDown() throws InterruptedException {
+        dispatcher.shutdown();
+
+        assertThat(dispatcher.dispatch(NotificationChannel.SLACK, "INC-1", () -> { }))
+                .failsWithin(1, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void dispatch_TimesOutAndInterruptsASlowDelivery() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> result = dispatcher.dispatch(NotificationChannel.SLACK, "INC-1", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        assertThatThrownBy(() -> result.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(await(interrupted)).isTrue();
+        assertThat(meterRegistry.get("notification.delivery.timeouts").tag("channel", "slack").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void dispatch_StartsTheTimeoutWhenTheDeliveryStartsRunning() {
+        // The second delivery waits 200 ms behind the first and then needs 200 ms of its own, both within 300 ms
+        CompletableFuture<Void> first = dispatcher.dispatch(NotificationChannel.SLACK, "INC-1", () -> sleep(200));
+        CompletableFuture<Void> second = dispatcher.dispatch(NotificationChannel.SLACK, "INC-2", () -> sleep(200));
+
+        assertThat(first).succeedsWithin(2, TimeUnit.SECONDS);
+        assertThat(second).succeedsWithin(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void dispatch_FailsTheFutureWhenTheDeliveryThrows() {
+        CompletableFuture<Void> result = dispatcher.dispatch(NotificationChannel.SLACK, "INC-1", () -> {
+            throw new IllegalStateException("slack down");
+        });
+
+        assertThat(result).failsWithin(1, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
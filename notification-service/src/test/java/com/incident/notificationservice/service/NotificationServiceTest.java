@@ -0,0 +1,65 @@
+package com.incident.notificationservice.service;
+
+import com.incident.notificationservice.event.IncidentEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private final EmailService emailService = mock(EmailService.class);
+    private final SmsService smsService = mock(SmsService.class);
+    private final SlackService slackService = mock(SlackService.class);
+    private final NotificationDispatcher dispatcher =
+            new NotificationDispatcher(new MockEnvironment(), new SimpleMeterRegistry());
+    private final NotificationService notificationService = new NotificationService(emailService, smsService,
+            slackService, dispatcher,
+            new NotificationCoalescer(new SimpleMeterRegistry(), false, Duration.ofSeconds(60), Set.of("P1"), 20, Duration.ofSeconds(5)));
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void processEvent_CompletesWhenEveryChannelDelivered() {
+        CompletableFuture<Void> result = notificationService.processEvent(created());
+
+        assertThat(result).succeedsWithin(1, TimeUnit.SECONDS);
+        verify(emailService).sendEmail(anyString(), anyString(), anyString());
+        verify(smsService).sendSms(anyString(), anyString());
+        verify(slackService).sendSlackMessage(anyString(), anyString());
+    }
+
+    @Test
+    void processEvent_FailsWhenAChannelFailsButStillDeliversTheOthers() {
+        doThrow(new IllegalStateException("slack down")).when(slackService).sendSlackMessage(anyString(), anyString());
+
+        CompletableFuture<Void> result = notificationService.processEvent(created());
+
+        assertThat(result).failsWithin(1, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withRootCauseInstanceOf(IllegalStateException.class);
+        verify(emailService).sendEmail(anyString(), anyString(), anyString());
+        verify(smsService).sendSms(anyString(), anyString());
+    }
+
+    private static IncidentEvent created() {
+        return IncidentEvent.builder()
+                .eventType("CREATED")
+                .incidentNumber("INC-1")
+                .severity("P2")
+                .build();
+    }
+}